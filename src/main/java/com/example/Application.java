@@ -1,10 +1,56 @@
 package com.example;
 
+import com.example.importer.HistoryImporter;
+import com.example.replay.MarketReplay;
+import io.micronaut.context.ApplicationContext;
 import io.micronaut.runtime.Micronaut;
 
+import java.nio.file.Path;
+
 public class Application {
 
-    public static void main(String[] args) {
+    /**
+     * Pass {@code --import-history=<file>} to backfill rate_history from a CSV or NDJSON
+     * file and exit instead of starting the server.
+     */
+    private static final String IMPORT_OPTION = "--import-history=";
+
+    /**
+     * Pass {@code --replay=<file|table>} to start the server with live polling disabled and
+     * feed recorded ticks through the refresh pipeline, then exit once the replay is done.
+     * The replay writes to the database given by {@code --app.replay.datasource-url=<jdbc url>}
+     * and refuses to start without one.
+     */
+    private static final String REPLAY_OPTION = "--replay=";
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (arg.startsWith(IMPORT_OPTION)) {
+                importHistory(Path.of(arg.substring(IMPORT_OPTION.length())));
+                return;
+            }
+            if (arg.startsWith(REPLAY_OPTION)) {
+                replay(arg.substring(REPLAY_OPTION.length()), args);
+                return;
+            }
+        }
         Micronaut.run(Application.class, args);
     }
+
+    private static void importHistory(Path file) throws Exception {
+        try (ApplicationContext context = ApplicationContext.builder(Application.class)
+                .environments("import")
+                .start()) {
+            context.getBean(HistoryImporter.class).importFile(file);
+        }
+    }
+
+    private static void replay(String source, String[] args) throws Exception {
+        try (ApplicationContext context = Micronaut.build(args)
+                .mainClass(Application.class)
+                .environments("replay")
+                .start()) {
+            context.getBean(MarketReplay.class).replay(source);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.alert;
+
+import com.example.entity.PriceAlert;
+
+import java.time.Instant;
+
+/**
+ * A fired alert, as handed to the {@link AlertSink}s.
+ */
+public record AlertNotification(long alertId,
+                                String pair,
+                                PriceAlert.Direction direction,
+                                double threshold,
+                                double previousRate,
+                                double rate,
+                                String target,
+                                Instant triggeredAt) {
+}
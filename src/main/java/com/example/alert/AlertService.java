@@ -0,0 +1,221 @@
+package com.example.alert;
+
+import com.example.entity.CurrencyPair;
+import com.example.entity.PriceAlert;
+import com.example.repository.PriceAlertRepository;
+import com.example.service.PairDictionary;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Price threshold alerts. Subscriptions are persisted in price_alert; the node running the
+ * refresh job keeps them indexed in memory per pair and direction ({@link ThresholdIndex}),
+ * so a tick only touches the alerts whose thresholds lie between the previous and the new
+ * rate.
+ * <p>
+ * The index is brought up to date at the start of each evaluation by loading alerts with
+ * ids above the last one seen, so alerts created on any node are picked up. Deleted alerts
+ * are dropped lazily: candidates are re-checked against the database before delivery.
+ */
+@Singleton
+public class AlertService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlertService.class);
+
+    /**
+     * Upper bound on ids per IN (...) query
+     */
+    private static final int ID_BATCH = 1000;
+
+    private final PriceAlertRepository repository;
+    private final PairDictionary pairs;
+    private final List<AlertSink> sinks;
+    private final WebhookTargets webhookTargets;
+    private final int loadPageSize;
+
+    private final Map<Short, ThresholdIndex> rising = new HashMap<>();
+    private final Map<Short, ThresholdIndex> falling = new HashMap<>();
+    private final Map<Short, Double> lastRates = new HashMap<>();
+    private long lastLoadedId;
+
+    public AlertService(PriceAlertRepository repository,
+                        PairDictionary pairs,
+                        List<AlertSink> sinks,
+                        WebhookTargets webhookTargets,
+                        @Value("${app.alerts.load-page-size:10000}") int loadPageSize) {
+        this.repository = repository;
+        this.pairs = pairs;
+        this.sinks = List.copyOf(sinks);
+        this.webhookTargets = webhookTargets;
+        this.loadPageSize = loadPageSize;
+    }
+
+    /**
+     * Register an alert on an already tracked pair such as {@code BTC/EUR}.
+     *
+     * @throws IllegalArgumentException for malformed or unknown pairs, invalid thresholds and
+     *                                  targets that are not allowed webhook URLs
+     */
+    public PriceAlert create(String pair, double threshold, PriceAlert.Direction direction, String target) {
+        int slash = pair != null ? pair.indexOf('/') : -1;
+        if (slash <= 0 || slash == pair.length() - 1) {
+            throw new IllegalArgumentException("pair must look like BTC/EUR");
+        }
+        if (!(threshold > 0) || Double.isInfinite(threshold)) {
+            throw new IllegalArgumentException("threshold must be a positive number");
+        }
+        webhookTargets.validate(target);
+        short pairId = pairs.findId(pair.substring(0, slash), pair.substring(slash + 1))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown pair " + pair));
+        return repository.save(new PriceAlert(pairId, threshold, direction, target));
+    }
+
+    public Optional<PriceAlert> find(long id) {
+        return repository.findById(id);
+    }
+
+    public boolean delete(long id) {
+        Optional<PriceAlert> alert = repository.findById(id);
+        if (alert.isEmpty()) {
+            return false;
+        }
+        repository.deleteById(id);
+        synchronized (this) {
+            unindex(alert.get().getPairId(), alert.get().getDirection(), id);
+        }
+        return true;
+    }
+
+    public String pairCode(short pairId) {
+        CurrencyPair pair = pairs.get(pairId);
+        return PairDictionary.code(pair.getBase(), pair.getQuote());
+    }
+
+    /**
+     * Fire the alerts crossed since the previous tick. The first tick seen for a pair only
+     * records its rate.
+     *
+     * @param rates new rates keyed by pair code, e.g. {@code BTC/EUR}
+     * @return number of alerts fired
+     */
+    public synchronized int evaluate(Instant timestamp, Map<String, Double> rates) {
+        loadNewAlerts();
+
+        Map<Long, Crossing> candidates = new HashMap<>();
+        rates.forEach((code, rate) -> {
+            int slash = code.indexOf('/');
+            short pairId = pairs.idOf(code.substring(0, slash), code.substring(slash + 1));
+            Double previous = lastRates.put(pairId, rate);
+            if (previous == null || previous.doubleValue() == rate) {
+                return;
+            }
+            long[] ids = rate > previous
+                    ? index(rising, pairId).between(previous, false, rate, true)
+                    : index(falling, pairId).between(rate, true, previous, false);
+            for (long id : ids) {
+                candidates.put(id, new Crossing(pairId, code, previous, rate));
+            }
+        });
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<AlertNotification> fired = new ArrayList<>();
+        List<Long> candidateIds = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < candidateIds.size(); from += ID_BATCH) {
+            List<Long> batch = candidateIds.subList(from, Math.min(candidateIds.size(), from + ID_BATCH));
+            List<Long> active = new ArrayList<>(batch.size());
+            List<PriceAlert> found = repository.findByIdIn(batch);
+            for (PriceAlert alert : found) {
+                if (alert.isActive()) {
+                    Crossing crossing = candidates.get(alert.getId());
+                    active.add(alert.getId());
+                    fired.add(new AlertNotification(alert.getId(), crossing.pair(), alert.getDirection(),
+                            alert.getThreshold(), crossing.previousRate(), crossing.rate(), alert.getTarget(),
+                            timestamp));
+                }
+            }
+            if (!active.isEmpty()) {
+                repository.markTriggered(active, timestamp);
+            }
+            // Fired and already triggered alerts leave the index
+            for (PriceAlert alert : found) {
+                unindex(alert.getPairId(), alert.getDirection(), alert.getId());
+                candidates.remove(alert.getId());
+            }
+        }
+        // Alerts deleted on another node are gone from the database; drop them from their pair
+        candidates.forEach((id, crossing) -> unindex(crossing.pairId(), PriceAlert.Direction.CROSS, id));
+
+        for (AlertNotification notification : fired) {
+            for (AlertSink sink : sinks) {
+                try {
+                    sink.deliver(notification);
+                } catch (Exception e) {
+                    LOG.warn("Alert sink {} failed for alert {}", sink.name(), notification.alertId(), e);
+                }
+            }
+        }
+        LOG.info("Fired {} price alerts", fired.size());
+        return fired.size();
+    }
+
+    private void loadNewAlerts() {
+        int loaded = 0;
+        List<PriceAlert> page;
+        do {
+            page = repository.findByActiveTrueAndIdGreaterThan(lastLoadedId,
+                    Pageable.from(0, loadPageSize, Sort.of(Sort.Order.asc("id"))));
+            for (PriceAlert alert : page) {
+                if (alert.getDirection() != PriceAlert.Direction.BELOW) {
+                    index(rising, alert.getPairId()).add(alert.getId(), alert.getThreshold());
+                }
+                if (alert.getDirection() != PriceAlert.Direction.ABOVE) {
+                    index(falling, alert.getPairId()).add(alert.getId(), alert.getThreshold());
+                }
+                lastLoadedId = Math.max(lastLoadedId, alert.getId());
+            }
+            loaded += page.size();
+        } while (page.size() == loadPageSize);
+        if (loaded > 0) {
+            LOG.info("Indexed {} new price alerts", loaded);
+        }
+    }
+
+    /**
+     * Tombstone the alert only in the indexes that hold it, so no other index carries it
+     * until its next compaction.
+     */
+    private void unindex(short pairId, PriceAlert.Direction direction, long id) {
+        if (direction != PriceAlert.Direction.BELOW) {
+            ThresholdIndex index = rising.get(pairId);
+            if (index != null) {
+                index.remove(id);
+            }
+        }
+        if (direction != PriceAlert.Direction.ABOVE) {
+            ThresholdIndex index = falling.get(pairId);
+            if (index != null) {
+                index.remove(id);
+            }
+        }
+    }
+
+    private record Crossing(short pairId, String pair, double previousRate, double rate) {
+    }
+
+    private static ThresholdIndex index(Map<Short, ThresholdIndex> indexes, short pairId) {
+        return indexes.computeIfAbsent(pairId, id -> new ThresholdIndex());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.alert;
+
+/**
+ * Delivery channel for fired alerts. Every enabled sink bean receives every notification;
+ * implementations must not block the refresh tick for long.
+ */
+public interface AlertSink {
+
+    String name();
+
+    void deliver(AlertNotification notification);
+}
@@ -0,0 +1,25 @@
+package com.example.alert;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+@Requires(property = "app.alerts.sinks.log.enabled", value = "true", defaultValue = "true")
+public class LogAlertSink implements AlertSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogAlertSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(AlertNotification notification) {
+        LOG.info("🔔 Alert {}: {} crossed {} {} ({} -> {})",
+                notification.alertId(), notification.pair(), notification.direction(),
+                notification.threshold(), notification.previousRate(), notification.rate());
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.alert;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Alert thresholds of one pair and direction, kept as sorted primitive arrays so the
+ * alerts crossed by a rate move are found with two binary searches: O(log n + k).
+ * <p>
+ * Additions go to a small unsorted buffer and removals to a tombstone set; both are merged
+ * into the sorted arrays in O(n + m log m) before the next range query, i.e. at most once
+ * per refresh tick. The buffer is sorted in place as two parallel primitive arrays.
+ */
+public final class ThresholdIndex {
+
+    private double[] thresholds = new double[0];
+    private long[] ids = new long[0];
+
+    private double[] pendingThresholds = new double[16];
+    private long[] pendingIds = new long[16];
+    private int pendingSize;
+    private final Set<Long> removed = new HashSet<>();
+
+    public synchronized void add(long id, double threshold) {
+        if (pendingSize == pendingIds.length) {
+            pendingThresholds = Arrays.copyOf(pendingThresholds, pendingSize * 2);
+            pendingIds = Arrays.copyOf(pendingIds, pendingSize * 2);
+        }
+        pendingThresholds[pendingSize] = threshold;
+        pendingIds[pendingSize] = id;
+        pendingSize++;
+        removed.remove(id);
+    }
+
+    public synchronized void remove(long id) {
+        removed.add(id);
+    }
+
+    /**
+     * Number of indexed alerts, counting pending additions and removals.
+     */
+    public synchronized int size() {
+        compact();
+        return ids.length;
+    }
+
+    /**
+     * Ids of alerts whose threshold lies in the given range, in threshold order.
+     */
+    public synchronized long[] between(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        compact();
+        int from = lowInclusive ? lowerBound(low) : upperBound(low);
+        int to = highInclusive ? upperBound(high) : lowerBound(high);
+        return from < to ? Arrays.copyOfRange(ids, from, to) : new long[0];
+    }
+
+    /**
+     * First position with threshold >= value
+     */
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (thresholds[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position with threshold > value
+     */
+    private int upperBound(double value) {
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (thresholds[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void compact() {
+        if (pendingSize == 0 && removed.isEmpty()) {
+            return;
+        }
+        sort(pendingThresholds, pendingIds, 0, pendingSize - 1);
+
+        double[] mergedThresholds = new double[thresholds.length + pendingSize];
+        long[] mergedIds = new long[mergedThresholds.length];
+        int size = 0;
+        int existing = 0;
+        int pending = 0;
+        while (existing < thresholds.length || pending < pendingSize) {
+            boolean takeExisting = pending >= pendingSize
+                    || (existing < thresholds.length && thresholds[existing] <= pendingThresholds[pending]);
+            double threshold;
+            long id;
+            if (takeExisting) {
+                threshold = thresholds[existing];
+                id = ids[existing++];
+            } else {
+                threshold = pendingThresholds[pending];
+                id = pendingIds[pending++];
+            }
+            if (!removed.contains(id)) {
+                mergedThresholds[size] = threshold;
+                mergedIds[size++] = id;
+            }
+        }
+        thresholds = Arrays.copyOf(mergedThresholds, size);
+        ids = Arrays.copyOf(mergedIds, size);
+        pendingSize = 0;
+        removed.clear();
+        if (pendingIds.length > 1024) {
+            pendingThresholds = new double[16];
+            pendingIds = new long[16];
+        }
+    }
+
+    /**
+     * Sort {@code keys[low..high]} in place, moving {@code values} along with them, without
+     * boxing: quicksort with a median-of-three pivot and insertion sort for short ranges.
+     */
+    private static void sort(double[] keys, long[] values, int low, int high) {
+        while (high - low >= 16) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(keys[middle], keys[low]) < 0) {
+                swap(keys, values, middle, low);
+            }
+            if (Double.compare(keys[high], keys[low]) < 0) {
+                swap(keys, values, high, low);
+            }
+            if (Double.compare(keys[high], keys[middle]) < 0) {
+                swap(keys, values, high, middle);
+            }
+            double pivot = keys[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (Double.compare(keys[i], pivot) < 0) {
+                    i++;
+                }
+                while (Double.compare(keys[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            // Recurse into the smaller side, loop on the larger one, so the stack stays O(log n)
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            double key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+            while (j >= low && Double.compare(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(double[] keys, long[] values, int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+}
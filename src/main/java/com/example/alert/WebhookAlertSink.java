@@ -0,0 +1,81 @@
+package com.example.alert;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POSTs the notification as JSON to the alert's target when it is an allowed webhook URL
+ * ({@link WebhookTargets}). Fire-and-forget: failures are logged, not retried.
+ */
+@Singleton
+@Requires(property = "app.alerts.sinks.webhook.enabled", value = "true")
+public class WebhookAlertSink implements AlertSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookAlertSink.class);
+
+    private final JsonMapper jsonMapper;
+    private final WebhookTargets targets;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public WebhookAlertSink(JsonMapper jsonMapper,
+                            WebhookTargets targets,
+                            @Value("${app.alerts.sinks.webhook.timeout:5s}") Duration timeout) {
+        this.jsonMapper = jsonMapper;
+        this.targets = targets;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(AlertNotification notification) {
+        String target = notification.target();
+        // Alerts stored before the host allow-list, or since removed from it, are skipped
+        if (!targets.isAllowed(target)) {
+            return;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("alert_id", notification.alertId());
+        body.put("pair", notification.pair());
+        body.put("direction", notification.direction().name().toLowerCase());
+        body.put("threshold", notification.threshold());
+        body.put("previous_rate", notification.previousRate());
+        body.put("rate", notification.rate());
+        body.put("triggered_at", notification.triggeredAt().toString());
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            LOG.warn("Webhook for alert {} failed: {}", notification.alertId(), error.getMessage());
+                        } else if (response.statusCode() >= 300) {
+                            LOG.warn("Webhook for alert {} returned {}", notification.alertId(), response.statusCode());
+                        }
+                    });
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warn("Webhook for alert {} not sent: {}", notification.alertId(), e.getMessage());
+        }
+    }
+}
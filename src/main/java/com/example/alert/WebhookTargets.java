@@ -0,0 +1,62 @@
+package com.example.alert;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Which webhook URLs alerts may point at: http(s) URLs whose host is listed in
+ * {@code app.alerts.sinks.webhook.allowed-hosts}, so an alert cannot make the server call
+ * internal addresses. Checked when an alert is created and again before delivery.
+ */
+@Singleton
+public class WebhookTargets {
+
+    private final Set<String> allowedHosts;
+
+    public WebhookTargets(@Value("${app.alerts.sinks.webhook.allowed-hosts:}") List<String> allowedHosts) {
+        this.allowedHosts = allowedHosts.stream()
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code target} is set but not an allowed webhook URL
+     */
+    public void validate(String target) {
+        if (target == null || target.isBlank()) {
+            return;
+        }
+        URI uri;
+        try {
+            uri = new URI(target);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("target must be an http(s) URL");
+        }
+        String scheme = uri.getScheme();
+        if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))
+                || uri.getHost() == null) {
+            throw new IllegalArgumentException("target must be an http(s) URL");
+        }
+        if (!allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("target host " + uri.getHost() + " is not allowed");
+        }
+    }
+
+    public boolean isAllowed(String target) {
+        try {
+            validate(target);
+            return target != null && !target.isBlank();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
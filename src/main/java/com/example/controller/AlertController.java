@@ -0,0 +1,119 @@
+package com.example.controller;
+
+import com.example.alert.AlertService;
+import com.example.dto.AlertRequest;
+import com.example.entity.PriceAlert;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Controller("/api/alerts")
+public class AlertController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlertController.class);
+
+    @Inject
+    private AlertService alertService;
+
+    /**
+     * POST /api/alerts
+     * Register a one-shot alert: { "pair": "BTC/EUR", "threshold": 90000, "direction": "above" }.
+     * direction is above, below or cross (default); target is an optional webhook URL.
+     */
+    @Post
+    public Map<String, Object> create(@Body AlertRequest request) {
+        try {
+            if (request == null || request.getThreshold() == null) {
+                return Map.of(
+                    "success", false,
+                    "error", "threshold is required"
+                );
+            }
+            PriceAlert.Direction direction = parseDirection(request.getDirection());
+            PriceAlert alert = alertService.create(request.getPair(), request.getThreshold(), direction,
+                    request.getTarget());
+            return Map.of(
+                "success", true,
+                "data", toMap(alert)
+            );
+        } catch (IllegalArgumentException e) {
+            return Map.of(
+                "success", false,
+                "error", e.getMessage()
+            );
+        } catch (Exception e) {
+            LOG.error("Failed to create alert", e);
+            return Map.of(
+                "success", false,
+                "error", String.valueOf(e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * GET /api/alerts/{id}
+     */
+    @Get("/{id}")
+    public Map<String, Object> get(@PathVariable long id) {
+        Optional<PriceAlert> alert = alertService.find(id);
+        if (alert.isEmpty()) {
+            return Map.of(
+                "success", false,
+                "error", "Alert not found"
+            );
+        }
+        return Map.of(
+            "success", true,
+            "data", toMap(alert.get())
+        );
+    }
+
+    /**
+     * DELETE /api/alerts/{id}
+     */
+    @Delete("/{id}")
+    public Map<String, Object> delete(@PathVariable long id) {
+        if (!alertService.delete(id)) {
+            return Map.of(
+                "success", false,
+                "error", "Alert not found"
+            );
+        }
+        return Map.of("success", true);
+    }
+
+    private static PriceAlert.Direction parseDirection(String direction) {
+        if (direction == null) {
+            return PriceAlert.Direction.CROSS;
+        }
+        try {
+            return PriceAlert.Direction.valueOf(direction.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("direction must be above, below or cross");
+        }
+    }
+
+    private Map<String, Object> toMap(PriceAlert alert) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", alert.getId());
+        map.put("pair", alertService.pairCode(alert.getPairId()));
+        map.put("threshold", alert.getThreshold());
+        map.put("direction", alert.getDirection().name().toLowerCase(Locale.ROOT));
+        map.put("target", alert.getTarget());
+        map.put("active", alert.isActive());
+        map.put("created_at", alert.getCreatedAt().toString());
+        map.put("triggered_at", alert.getTriggeredAt() != null ? alert.getTriggeredAt().toString() : null);
+        return map;
+    }
+}
@@ -1,14 +1,28 @@
 package com.example.controller;
 
-import com.example.entity.ExchangeRate;
+import com.example.dto.BtcAmount;
+import com.example.dto.BtcConversionRequest;
+import com.example.dto.ConversionTimes;
+import com.example.history.RatePoint;
+import com.example.history.RateTimeIndexService;
+import com.example.jfr.ConversionEvent;
+import com.example.logging.RequestLogSummary;
+import com.example.money.FixedPoint;
+import com.example.money.MoneyUnit;
+import com.example.service.CurrentRate;
 import com.example.service.RateService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.micronaut.context.annotation.Value;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
@@ -25,6 +39,14 @@ public class ConversionController {
     @Inject
     private RateService rateService;
 
+    @Inject
+    private RequestLogSummary requestLogSummary;
+
+    @Inject
+    private RateTimeIndexService rateTimeIndex;
+
+    @Value("${app.money.rounding-mode:HALF_UP}")
+    private RoundingMode roundingMode;
 
     @Get("/health")
     public Map<String, String> health() {
@@ -44,8 +66,8 @@ public class ConversionController {
     @Get("/prices/latest")
     public Map<String, Object> getLatestPrices() {
         try {
-            Optional<ExchangeRate> usdRate = rateService.getLatestPrice();
-            Optional<ExchangeRate> eurRate = rateService.getLatestPriceEur();
+            Optional<CurrentRate> usdRate = rateService.getLatestPrice();
+            Optional<CurrentRate> eurRate = rateService.getLatestPriceEur();
 
             if (usdRate.isEmpty() || eurRate.isEmpty()) {
                 return Map.of(
@@ -54,16 +76,16 @@ public class ConversionController {
                 );
             }
 
-            ExchangeRate rateUsd = usdRate.get();
-            ExchangeRate rateEur = eurRate.get();
+            CurrentRate rateUsd = usdRate.get();
+            CurrentRate rateEur = eurRate.get();
 
             return Map.of(
                 "success", true,
                 "data", Map.of(
-                    "id", rateUsd.getId(),
-                    "btc_usd", rateUsd.getRate(),
-                    "btc_eur", rateEur.getRate(),
-                    "timestamp", rateUsd.getUpdatedAt().toString()
+                    "id", rateUsd.updatedAt().toEpochMilli(),
+                    "btc_usd", rateUsd.rate(),
+                    "btc_eur", rateEur.rate(),
+                    "timestamp", rateUsd.updatedAt().toString()
                 )
             );
         } catch (Exception e) {
@@ -78,32 +100,49 @@ public class ConversionController {
     /**
      * POST /api/convert
      * Convert BTC amount to USD and EUR.
-     * Request: { "btc_amount": 0.01 }
-     * Response matches Python API format.
+     * Request: { "btc_amount": 0.01 } (number or string)
+     * Optional "at" (ISO-8601 or epoch millis, or an array of them) and "interpolate"
+     * convert at historical rates from the in-memory rate time index.
+     * Response matches Python API format. Each call is recorded as a {@link ConversionEvent}.
      */
     @Post("/convert")
     @Status(HttpStatus.OK)
-    public Map<String, Object> convert(@Body Map<String, Object> request) {
-        try {
-            Object btcAmountObj = request.get("btc_amount");
-            double btcAmount = 0;
+    public Map<String, Object> convert(@Body BtcConversionRequest request) {
+        ConversionEvent event = ConversionEvent.start();
+        Map<String, Object> result = doConvert(request);
+        ConversionTimes at = request != null ? request.getAt() : null;
+        event.finish("BTC/USD,BTC/EUR",
+                at != null ? "historical" : "latest",
+                Boolean.TRUE.equals(result.get("success")) ? "success" : "failure",
+                at != null ? at.getMillis().length : 1);
+        return result;
+    }
 
-            if (btcAmountObj instanceof Number) {
-                btcAmount = ((Number) btcAmountObj).doubleValue();
-            } else if (btcAmountObj instanceof String) {
-                btcAmount = Double.parseDouble((String) btcAmountObj);
+    private Map<String, Object> doConvert(BtcConversionRequest request) {
+        try {
+            BtcAmount amount = request != null ? request.getBtcAmount() : null;
+            if (amount != null && !amount.isValid()) {
+                return Map.of(
+                    "success", false,
+                    "error", amount.getError()
+                );
             }
+            long satoshis = amount != null ? amount.getSatoshis() : 0;
 
-            if (btcAmount <= 0) {
+            if (satoshis <= 0) {
                 return Map.of(
                     "success", false,
                     "error", "BTC amount must be greater than 0"
                 );
             }
 
+            if (request.getAt() != null) {
+                return convertAt(satoshis, request.getAt(), request.isInterpolate());
+            }
+
             // Get latest prices (both USD and EUR)
-            Optional<ExchangeRate> usdRateOpt = rateService.getLatestPrice();
-            Optional<ExchangeRate> eurRateOpt = rateService.getLatestPriceEur();
+            Optional<CurrentRate> usdRateOpt = rateService.getLatestPrice();
+            Optional<CurrentRate> eurRateOpt = rateService.getLatestPriceEur();
 
             if (usdRateOpt.isEmpty() || eurRateOpt.isEmpty()) {
                 return Map.of(
@@ -112,13 +151,17 @@ public class ConversionController {
                 );
             }
 
-            ExchangeRate usdRate = usdRateOpt.get();
-            ExchangeRate eurRate = eurRateOpt.get();
+            CurrentRate usdRate = usdRateOpt.get();
+            CurrentRate eurRate = eurRateOpt.get();
 
-            double usdAmount = Math.round(btcAmount * usdRate.getRate() * 100.0) / 100.0;
-            double eurAmount = Math.round(btcAmount * eurRate.getRate() * 100.0) / 100.0;
+            double btcAmount = FixedPoint.toDouble(satoshis, MoneyUnit.BTC.getScale());
+            double usdAmount = convertAmount(satoshis, usdRate.rate(), MoneyUnit.USD);
+            double eurAmount = convertAmount(satoshis, eurRate.rate(), MoneyUnit.EUR);
 
-            LOG.info("Converted {} BTC to ${} and €{}", btcAmount, usdAmount, eurAmount);
+            requestLogSummary.conversion();
+            if (requestLogSummary.sampleConversion()) {
+                LOG.info("Converted {} BTC to ${} and €{} (sampled)", btcAmount, usdAmount, eurAmount);
+            }
 
             return Map.of(
                 "success", true,
@@ -127,13 +170,14 @@ public class ConversionController {
                     "usd_amount", usdAmount,
                     "eur_amount", eurAmount,
                     "rates", Map.of(
-                        "btc_usd", usdRate.getRate(),
-                        "btc_eur", eurRate.getRate()
+                        "btc_usd", usdRate.rate(),
+                        "btc_eur", eurRate.rate()
                     ),
-                    "timestamp", usdRate.getUpdatedAt().toString()
+                    "timestamp", usdRate.updatedAt().toString()
                 )
             );
         } catch (Exception e) {
+            requestLogSummary.failedConversion();
             LOG.error("Conversion failed", e);
             return Map.of(
                 "success", false,
@@ -141,4 +185,78 @@ public class ConversionController {
             );
         }
     }
+
+    /**
+     * Conversion at historical rates; a batch answers every timestamp or fails as a whole.
+     */
+    private Map<String, Object> convertAt(long satoshis, ConversionTimes at, boolean interpolate) {
+        if (!at.isValid()) {
+            return Map.of(
+                "success", false,
+                "error", at.getError()
+            );
+        }
+        long now = System.currentTimeMillis();
+        long[] times = at.getMillis();
+        for (long millis : times) {
+            if (millis > now) {
+                return Map.of(
+                    "success", false,
+                    "error", "at must not be in the future"
+                );
+            }
+        }
+
+        RatePoint[] points = rateTimeIndex.at(times, interpolate);
+        double btcAmount = FixedPoint.toDouble(satoshis, MoneyUnit.BTC.getScale());
+        List<Map<String, Object>> conversions = new ArrayList<>(points.length);
+        for (int i = 0; i < points.length; i++) {
+            RatePoint point = points[i];
+            if (point == null) {
+                return Map.of(
+                    "success", false,
+                    "error", "No price data available at " + Instant.ofEpochMilli(times[i])
+                );
+            }
+            conversions.add(Map.of(
+                "at", Instant.ofEpochMilli(times[i]).toString(),
+                "btc_amount", btcAmount,
+                "usd_amount", convertAmount(satoshis, point.btcUsd(), MoneyUnit.USD),
+                "eur_amount", convertAmount(satoshis, point.btcEur(), MoneyUnit.EUR),
+                "rates", Map.of(
+                    "btc_usd", point.btcUsd(),
+                    "btc_eur", point.btcEur()
+                ),
+                "timestamp", Instant.ofEpochMilli(point.timestamp()).toString()
+            ));
+        }
+
+        requestLogSummary.conversion();
+        if (requestLogSummary.sampleConversion()) {
+            LOG.info("Converted {} BTC at {} historical timestamp(s) (sampled)", btcAmount, times.length);
+        }
+
+        if (!at.isBatch()) {
+            return Map.of(
+                "success", true,
+                "data", conversions.get(0)
+            );
+        }
+        return Map.of(
+            "success", true,
+            "data", Map.of(
+                "btc_amount", btcAmount,
+                "conversions", conversions
+            )
+        );
+    }
+
+    /**
+     * Exact fixed-point conversion: satoshis x scaled rate -> minor units, as a decimal amount
+     */
+    private double convertAmount(long satoshis, double rate, MoneyUnit unit) {
+        long units = FixedPoint.convert(satoshis, MoneyUnit.BTC,
+                FixedPoint.fromDouble(rate, FixedPoint.RATE_DIGITS), unit, roundingMode);
+        return FixedPoint.toDouble(units, unit.getScale());
+    }
 }
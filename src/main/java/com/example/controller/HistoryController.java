@@ -1,15 +1,23 @@
 package com.example.controller;
 
-import com.example.entity.RateHistory;
-import com.example.repository.RateHistoryRepository;
+import com.example.logging.RequestLogSummary;
+import com.example.service.HistoryPage;
+import com.example.service.HistoryResponseCache;
+import com.example.service.ReadRoutingService;
+import com.example.service.TimeSeriesService;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.json.JsonMapper;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,17 +27,34 @@ public class HistoryController {
     private static final Logger LOG = LoggerFactory.getLogger(HistoryController.class);
 
     @Inject
-    private RateHistoryRepository rateHistoryRepository;
+    private ReadRoutingService readRouting;
+
+    @Inject
+    private TimeSeriesService timeSeries;
+
+    @Inject
+    private HistoryResponseCache responseCache;
+
+    @Inject
+    private JsonMapper jsonMapper;
+
+    @Inject
+    private RequestLogSummary requestLogSummary;
+
+    @Value("${app.history.max-page-size:1000}")
+    private int maxPageSize;
 
     /**
      * GET /api/history/last-24h
-     * Returns all rate history from the last 24 hours
+     * Returns all rate history from the last 24 hours, one entry per timestamp
+     * with a field per tracked pair (btc_usd, btc_eur, ...)
      */
     @Get("/last-24h")
     public Map<String, Object> getLast24Hours() {
         try {
             Instant twentyFourHoursAgo = Instant.now().minusSeconds(24 * 60 * 60);
-            List<RateHistory> history = rateHistoryRepository.findByTimestampGreaterThanOrderByTimestampAsc(twentyFourHoursAgo);
+            List<Map<String, Object>> history = timeSeries.toHistoryEntries(
+                    readRouting.findRatesAfter(twentyFourHoursAgo));
 
             if (history.isEmpty()) {
                 return Map.of(
@@ -38,20 +63,14 @@ public class HistoryController {
                 );
             }
 
-            List<Map<String, Object>> data = history.stream().map(rate -> {
-                Map<String, Object> map = new java.util.HashMap<>();
-                map.put("id", rate.getId());
-                map.put("btc_usd", rate.getBtcUsd());
-                map.put("btc_eur", rate.getBtcEur());
-                map.put("timestamp", rate.getTimestamp().toString());
-                return map;
-            }).toList();
-
-            LOG.info("Retrieved {} rate history records from last 24 hours", history.size());
+            requestLogSummary.historyRead(history.size());
+            if (requestLogSummary.sampleHistoryRead()) {
+                LOG.info("Retrieved {} rate history records from last 24 hours (sampled)", history.size());
+            }
 
             return Map.of(
                 "success", true,
-                "data", data
+                "data", history
             );
         } catch (Exception e) {
             LOG.error("Failed to retrieve rate history", e);
@@ -69,7 +88,7 @@ public class HistoryController {
     @Get("/total")
     public Map<String, Object> getTotal() {
         try {
-            long total = rateHistoryRepository.count();
+            long total = readRouting.countHistory();
             return Map.of(
                 "success", true,
                 "total", total
@@ -84,46 +103,109 @@ public class HistoryController {
     }
 
     /**
-     * GET /api/rate-history?hours=24
-     * Returns rate history for the specified number of hours
+     * GET /api/rate-history?hours=24[&since_id=...][&limit=...]
+     * Returns rate history for the specified number of hours.
+     * Without since_id or limit the whole window is returned, and successful serialized responses are
+     * cached per hours value until the next refresh. With either of them one keyset page of
+     * at most limit entries newer than since_id is returned, plus the next since_id to poll with.
      */
-    @Get("/rate-history")
-    public Map<String, Object> getRateHistory(@QueryValue(defaultValue = "24") int hours) {
+    @Get(value = "/rate-history", produces = MediaType.APPLICATION_JSON)
+    public String getRateHistory(@QueryValue(defaultValue = "24") int hours,
+                                 @Nullable @QueryValue("since_id") Long sinceId,
+                                 @Nullable @QueryValue Integer limit) {
         try {
-            Instant cutoffTime = Instant.now().minusSeconds((long) hours * 60 * 60);
-            List<RateHistory> history = rateHistoryRepository.findByTimestampAfter(cutoffTime);
-
-            if (history.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "error", "No rate history available yet. Data is collected every 5 minutes."
-                );
+            if (sinceId != null || limit != null) {
+                return toJson(loadRateHistoryPage(hours, sinceId, limit));
+            }
+            boolean[] loaded = {false};
+            String body = responseCache.load(hours, () -> {
+                loaded[0] = true;
+                Map<String, Object> result = loadRateHistory(hours);
+                // "No history yet" must not outlive the first refresh that writes some
+                return new HistoryResponseCache.Loaded(toJson(result), Boolean.TRUE.equals(result.get("success")));
+            });
+            if (!loaded[0]) {
+                requestLogSummary.historyCacheHit();
             }
+            return body;
+        } catch (Exception e) {
+            // Failures are not cached
+            LOG.error("Failed to retrieve rate history", e);
+            return toJson(Map.of(
+                "success", false,
+                "error", String.valueOf(e.getMessage())
+            ));
+        }
+    }
 
-            List<Map<String, Object>> data = history.stream()
-                .map(rate -> {
-                    Map<String, Object> map = new java.util.HashMap<>();
-                    map.put("id", rate.getId());
-                    map.put("btc_usd", rate.getBtcUsd());
-                    map.put("btc_eur", rate.getBtcEur());
-                    map.put("timestamp", rate.getTimestamp().toString());
-                    return map;
-                })
-                .toList();
+    /**
+     * GET /api/history/cache-stats
+     * Hit/miss/eviction counters of the rate-history response cache
+     */
+    @Get("/cache-stats")
+    public Map<String, Object> getCacheStats() {
+        return Map.of(
+            "success", true,
+            "data", responseCache.stats()
+        );
+    }
 
-            LOG.info("Retrieved {} rate history records from last {} hours", history.size(), hours);
+    private Map<String, Object> loadRateHistory(int hours) {
+        Instant cutoffTime = Instant.now().minusSeconds((long) hours * 60 * 60);
+        List<Map<String, Object>> history = timeSeries.toHistoryEntries(readRouting.findRatesAfter(cutoffTime));
 
-            return Map.of(
-                "success", true,
-                "data", data
-            );
-        } catch (Exception e) {
-            LOG.error("Failed to retrieve rate history", e);
+        if (history.isEmpty()) {
             return Map.of(
                 "success", false,
-                "error", e.getMessage()
+                "error", "No rate history available yet. Data is collected every 5 minutes."
             );
         }
+
+        requestLogSummary.historyRead(history.size());
+        if (requestLogSummary.sampleHistoryRead()) {
+            LOG.info("Retrieved {} rate history records from last {} hours (sampled)", history.size(), hours);
+        }
+
+        return Map.of(
+            "success", true,
+            "data", history
+        );
     }
-}
 
+    private Map<String, Object> loadRateHistoryPage(int hours, @Nullable Long sinceId, @Nullable Integer limit) {
+        Instant after = Instant.now().minusSeconds((long) hours * 60 * 60);
+        if (sinceId != null) {
+            // Entry ids are epoch millis, so skip the whole millisecond of the last seen entry;
+            // pages always end on a millisecond boundary, so nothing in it is left unread
+            Instant seen = Instant.ofEpochMilli(sinceId).plusMillis(1).minusNanos(1);
+            if (seen.isAfter(after)) {
+                after = seen;
+            }
+        }
+        int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        HistoryPage page = readRouting.findRatePage(after, pageSize);
+        List<Map<String, Object>> history = timeSeries.toHistoryEntries(page.rows());
+
+        requestLogSummary.historyRead(history.size());
+        if (requestLogSummary.sampleHistoryRead()) {
+            LOG.info("Retrieved {} rate history records after id {} (sampled)", history.size(), sinceId);
+        }
+
+        // An empty page is a normal answer for pollers; they keep their since_id
+        Long nextSinceId = history.isEmpty() ? sinceId : (Long) history.get(history.size() - 1).get("id");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("data", history);
+        body.put("next_since_id", nextSinceId);
+        body.put("has_more", page.hasMore());
+        return body;
+    }
+
+    private String toJson(Map<String, Object> body) {
+        try {
+            return jsonMapper.writeValueAsString(body);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Failed to serialize rate history", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.controller;
+
+import com.example.stats.RollingStatsService;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import jakarta.inject.Inject;
+
+import java.util.Map;
+
+@Controller("/api/stats")
+public class StatsController {
+
+    @Inject
+    private RollingStatsService rollingStats;
+
+    /**
+     * GET /api/stats
+     * Moving averages, volatility of per-tick log returns and min/max per window.
+     * Served from incrementally maintained state, so cost does not depend on window length.
+     */
+    @Get
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "success", true,
+            "data", rollingStats.snapshot()
+        );
+    }
+}
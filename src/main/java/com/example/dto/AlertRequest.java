@@ -0,0 +1,61 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Body of POST /api/alerts:
+ * {@code { "pair": "BTC/EUR", "threshold": 90000, "direction": "above", "target": "https://..." }}.
+ */
+@Serdeable.Deserializable
+@Introspected
+public class AlertRequest {
+
+    @JsonProperty("pair")
+    private String pair;
+
+    @JsonProperty("threshold")
+    private Double threshold;
+
+    @JsonProperty("direction")
+    private String direction;
+
+    @JsonProperty("target")
+    private String target;
+
+    public AlertRequest() {
+    }
+
+    public String getPair() {
+        return pair;
+    }
+
+    public void setPair(String pair) {
+        this.pair = pair;
+    }
+
+    public Double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Double threshold) {
+        this.threshold = threshold;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+}
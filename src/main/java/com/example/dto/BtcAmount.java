@@ -0,0 +1,40 @@
+package com.example.dto;
+
+/**
+ * A {@code btc_amount} value already parsed to satoshis during JSON decoding.
+ * Invalid input does not fail deserialization; it carries the parse error so the
+ * endpoint can answer with its usual {@code success=false} payload.
+ */
+public final class BtcAmount {
+
+    private final long satoshis;
+    private final String error;
+
+    private BtcAmount(long satoshis, String error) {
+        this.satoshis = satoshis;
+        this.error = error;
+    }
+
+    public static BtcAmount of(long satoshis) {
+        return new BtcAmount(satoshis, null);
+    }
+
+    public static BtcAmount invalid(String error) {
+        return new BtcAmount(0, error);
+    }
+
+    public long getSatoshis() {
+        return satoshis;
+    }
+
+    /**
+     * Parse error message, or null when the value was a valid number
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
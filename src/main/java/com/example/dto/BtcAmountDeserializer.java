@@ -0,0 +1,64 @@
+package com.example.dto;
+
+import com.example.money.FixedPoint;
+import com.example.money.MoneyUnit;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.tree.JsonNode;
+import io.micronaut.serde.Decoder;
+import io.micronaut.serde.Deserializer;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Reads {@code btc_amount} into satoshis from its decimal text, for both JSON numbers
+ * and strings.
+ * Plain decimals are parsed exactly; anything else Double.parseDouble accepts
+ * (e.g. exponents) is rounded half-up to the nearest satoshi. Booleans, objects and arrays
+ * are read as a zero amount, so they get the endpoint's usual "must be greater than 0" answer.
+ */
+@Singleton
+public class BtcAmountDeserializer implements Deserializer<BtcAmount> {
+
+    private final RoundingMode roundingMode;
+
+    public BtcAmountDeserializer(@Value("${app.money.rounding-mode:HALF_UP}") RoundingMode roundingMode) {
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * The token type is checked before reading text, since decodeString would coerce booleans
+     * and fail on structures. Decimal numbers are read back through their plain decimal form.
+     */
+    @Override
+    public BtcAmount deserialize(Decoder decoder, DecoderContext context, Argument<? super BtcAmount> type)
+            throws IOException {
+        JsonNode node = decoder.decodeNode();
+        if (node.isString()) {
+            return parse(node.getStringValue(), roundingMode);
+        }
+        if (node.isNumber()) {
+            Number number = node.getNumberValue();
+            return parse(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString(),
+                    roundingMode);
+        }
+        return BtcAmount.of(0);
+    }
+
+    static BtcAmount parse(String text, RoundingMode roundingMode) {
+        int scale = MoneyUnit.BTC.getScale();
+        try {
+            return BtcAmount.of(FixedPoint.parse(text, scale, roundingMode));
+        } catch (NumberFormatException | ArithmeticException e) {
+            try {
+                double value = Double.parseDouble(text);
+                return BtcAmount.of(value > 0 ? FixedPoint.fromDouble(value, scale) : 0);
+            } catch (NumberFormatException | ArithmeticException fallback) {
+                return BtcAmount.invalid(String.valueOf(fallback.getMessage()));
+            }
+        }
+    }
+}
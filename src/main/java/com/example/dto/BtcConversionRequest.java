@@ -0,0 +1,55 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Body of POST /api/convert: {@code { "btc_amount": 0.01 }} or {@code { "btc_amount": "0.01" }}.
+ * Optional {@code "at"} (one timestamp or an array) converts at historical rates, with
+ * {@code "interpolate": true} blending the samples around each timestamp.
+ */
+@Serdeable.Deserializable
+@Introspected
+public class BtcConversionRequest {
+
+    @JsonProperty("btc_amount")
+    private BtcAmount btcAmount;
+
+    @JsonProperty("at")
+    private ConversionTimes at;
+
+    @JsonProperty("interpolate")
+    private boolean interpolate;
+
+    public BtcConversionRequest() {
+    }
+
+    public BtcConversionRequest(BtcAmount btcAmount) {
+        this.btcAmount = btcAmount;
+    }
+
+    public BtcAmount getBtcAmount() {
+        return btcAmount;
+    }
+
+    public void setBtcAmount(BtcAmount btcAmount) {
+        this.btcAmount = btcAmount;
+    }
+
+    public ConversionTimes getAt() {
+        return at;
+    }
+
+    public void setAt(ConversionTimes at) {
+        this.at = at;
+    }
+
+    public boolean isInterpolate() {
+        return interpolate;
+    }
+
+    public void setInterpolate(boolean interpolate) {
+        this.interpolate = interpolate;
+    }
+}
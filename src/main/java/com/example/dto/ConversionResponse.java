@@ -1,5 +1,6 @@
 package com.example.dto;
 
+import com.example.money.FixedPoint;
 import io.micronaut.serde.annotation.Serdeable;
 import io.micronaut.core.annotation.Introspected;
 
@@ -9,6 +10,13 @@ public class ConversionResponse {
 
     private double convertedAmount;
 
+    /**
+     * Exact converted amount in minor units of the target currency, see {@link #getScale()}
+     */
+    private long convertedUnits;
+
+    private int scale;
+
     private double exchangeRate;
 
     private String fromCurrency;
@@ -41,6 +49,18 @@ public class ConversionResponse {
                                     originalAmount, true, null);
     }
 
+    /**
+     * Success built from an exact fixed-point result; the double amount is derived from it.
+     */
+    public static ConversionResponse success(long convertedUnits, int scale, double exchangeRate,
+                                           String fromCurrency, String toCurrency, double originalAmount) {
+        ConversionResponse response = success(FixedPoint.toDouble(convertedUnits, scale), exchangeRate,
+                                              fromCurrency, toCurrency, originalAmount);
+        response.setConvertedUnits(convertedUnits);
+        response.setScale(scale);
+        return response;
+    }
+
     public static ConversionResponse failure(String error) {
         return new ConversionResponse(0, 0, null, null, 0, false, error);
     }
@@ -54,6 +74,22 @@ public class ConversionResponse {
         this.convertedAmount = convertedAmount;
     }
 
+    public long getConvertedUnits() {
+        return convertedUnits;
+    }
+
+    public void setConvertedUnits(long convertedUnits) {
+        this.convertedUnits = convertedUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public void setScale(int scale) {
+        this.scale = scale;
+    }
+
     public double getExchangeRate() {
         return exchangeRate;
     }
@@ -0,0 +1,50 @@
+package com.example.dto;
+
+/**
+ * The {@code at} value of POST /api/convert, already parsed to epoch millis: one timestamp,
+ * or an array of them for a batch. Like {@link BtcAmount}, invalid input carries its error
+ * instead of failing deserialization.
+ */
+public final class ConversionTimes {
+
+    private final long[] millis;
+    private final boolean batch;
+    private final String error;
+
+    private ConversionTimes(long[] millis, boolean batch, String error) {
+        this.millis = millis;
+        this.batch = batch;
+        this.error = error;
+    }
+
+    public static ConversionTimes single(long millis) {
+        return new ConversionTimes(new long[]{millis}, false, null);
+    }
+
+    public static ConversionTimes batch(long[] millis) {
+        return new ConversionTimes(millis, true, null);
+    }
+
+    public static ConversionTimes invalid(String error) {
+        return new ConversionTimes(new long[0], false, error);
+    }
+
+    public long[] getMillis() {
+        return millis;
+    }
+
+    /**
+     * True when {@code at} was an array, so the response lists one conversion per entry
+     */
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.dto;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.tree.JsonNode;
+import io.micronaut.serde.Decoder;
+import io.micronaut.serde.Deserializer;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads {@code at} as an ISO-8601 instant or epoch millis (number or string), or an array
+ * of those.
+ */
+@Singleton
+public class ConversionTimesDeserializer implements Deserializer<ConversionTimes> {
+
+    /**
+     * Upper bound on timestamps per request
+     */
+    static final int MAX_BATCH = 1000;
+
+    /**
+     * Reads the value as a tree node rather than through decodeArbitrary, so numbers are taken
+     * as primitive longs and an array is walked in place instead of being copied into a List.
+     */
+    @Override
+    public ConversionTimes deserialize(Decoder decoder, DecoderContext context, Argument<? super ConversionTimes> type)
+            throws IOException {
+        return parse(decoder.decodeNode());
+    }
+
+    static ConversionTimes parse(JsonNode value) {
+        try {
+            if (value.isArray()) {
+                int size = value.size();
+                if (size == 0 || size > MAX_BATCH) {
+                    return ConversionTimes.invalid("at must list between 1 and " + MAX_BATCH + " timestamps");
+                }
+                long[] millis = new long[size];
+                for (int i = 0; i < size; i++) {
+                    millis[i] = toMillis(value.get(i));
+                }
+                return ConversionTimes.batch(millis);
+            }
+            return ConversionTimes.single(toMillis(value));
+        } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+            return ConversionTimes.invalid("Invalid at timestamp: " + e.getMessage());
+        }
+    }
+
+    private static long toMillis(JsonNode value) {
+        if (value.isNumber()) {
+            return value.getLongValue();
+        }
+        if (value.isString()) {
+            String trimmed = value.getStringValue().trim();
+            if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(trimmed);
+            }
+            return Instant.parse(trimmed).toEpochMilli();
+        }
+        throw new IllegalArgumentException(String.valueOf(value));
+    }
+}
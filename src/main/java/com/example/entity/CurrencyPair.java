@@ -0,0 +1,37 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Interned currency pair. Time-series rows refer to pairs by this small id instead of
+ * repeating the currency codes.
+ */
+@Entity
+@Table(name = "currency_pair", uniqueConstraints = @UniqueConstraint(columnNames = {"base", "quote"}))
+public class CurrencyPair {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(name = "base", nullable = false, length = 10)
+    private String base;
+
+    @Column(name = "quote", nullable = false, length = 10)
+    private String quote;
+
+    public CurrencyPair() {}
+
+    public CurrencyPair(String base, String quote) {
+        this.base = base;
+        this.quote = quote;
+    }
+
+    // getters and setters
+    public Short getId() { return id; }
+    public void setId(Short id) { this.id = id; }
+    public String getBase() { return base; }
+    public void setBase(String base) { this.base = base; }
+    public String getQuote() { return quote; }
+    public void setQuote(String quote) { this.quote = quote; }
+}
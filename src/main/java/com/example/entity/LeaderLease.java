@@ -0,0 +1,46 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Cluster-wide lease row. The node whose id is in {@code owner} and whose lease has not
+ * expired is the only one allowed to refresh rates. {@code snapshotVersion} is bumped by
+ * the leader after every successful refresh so followers can detect new data cheaply.
+ */
+@Entity
+@Table(name = "leader_lease")
+public class LeaderLease {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", length = 128)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "snapshot_version", nullable = false)
+    private long snapshotVersion;
+
+    public LeaderLease() {}
+
+    public LeaderLease(String name, String owner, Instant expiresAt, long snapshotVersion) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    // getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+    public long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+}
@@ -0,0 +1,33 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One rate observation of one currency pair: (pair_id, ts, rate).
+ * Replaces the fixed btc_usd/btc_eur columns of {@link RateHistory} and the per-pair
+ * varchar rows of {@link ExchangeRate}; the latest point of each pair is its current rate.
+ */
+@Entity
+@Table(name = "pair_rate", indexes = @Index(name = "pair_rate_ts", columnList = "ts"))
+public class PairRate {
+
+    @EmbeddedId
+    private PairRateId id;
+
+    @Column(name = "rate", nullable = false)
+    private double rate;
+
+    public PairRate() {}
+
+    public PairRate(short pairId, Instant timestamp, double rate) {
+        this.id = new PairRateId(pairId, timestamp);
+        this.rate = rate;
+    }
+
+    // getters and setters
+    public PairRateId getId() { return id; }
+    public void setId(PairRateId id) { this.id = id; }
+    public double getRate() { return rate; }
+    public void setRate(double rate) { this.rate = rate; }
+}
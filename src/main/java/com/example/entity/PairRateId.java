@@ -0,0 +1,50 @@
+package com.example.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Composite key of {@link PairRate}: (pair_id, ts), so each pair's points are stored
+ * contiguously in time order in the primary key index.
+ */
+@Embeddable
+public class PairRateId {
+
+    @Column(name = "pair_id", nullable = false)
+    private short pairId;
+
+    @Column(name = "ts", nullable = false)
+    private Instant timestamp;
+
+    public PairRateId() {}
+
+    public PairRateId(short pairId, Instant timestamp) {
+        this.pairId = pairId;
+        this.timestamp = timestamp;
+    }
+
+    // getters and setters
+    public short getPairId() { return pairId; }
+    public void setPairId(short pairId) { this.pairId = pairId; }
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PairRateId other)) {
+            return false;
+        }
+        return pairId == other.pairId && Objects.equals(timestamp, other.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pairId, timestamp);
+    }
+}
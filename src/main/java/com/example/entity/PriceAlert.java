@@ -0,0 +1,80 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A one-shot "notify me when the pair crosses the threshold" subscription.
+ * Deactivated with {@code triggeredAt} set once it fires.
+ */
+@Entity
+@Table(name = "price_alert", indexes = @Index(name = "price_alert_active_id", columnList = "active, id"))
+public class PriceAlert {
+
+    public enum Direction {
+        /** Fires when the rate rises to or through the threshold */
+        ABOVE,
+        /** Fires when the rate falls to or through the threshold */
+        BELOW,
+        /** Fires on a crossing either way */
+        CROSS
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pair_id", nullable = false)
+    private short pairId;
+
+    @Column(name = "threshold", nullable = false)
+    private double threshold;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", nullable = false, length = 8)
+    private Direction direction;
+
+    /**
+     * Where to deliver, e.g. a webhook URL; interpretation is up to the sinks
+     */
+    @Column(name = "target", length = 512)
+    private String target;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "triggered_at")
+    private Instant triggeredAt;
+
+    public PriceAlert() {}
+
+    public PriceAlert(short pairId, double threshold, Direction direction, String target) {
+        this.pairId = pairId;
+        this.threshold = threshold;
+        this.direction = direction;
+        this.target = target;
+        this.active = true;
+        this.createdAt = Instant.now();
+    }
+
+    // getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public short getPairId() { return pairId; }
+    public void setPairId(short pairId) { this.pairId = pairId; }
+    public double getThreshold() { return threshold; }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+    public Direction getDirection() { return direction; }
+    public void setDirection(Direction direction) { this.direction = direction; }
+    public String getTarget() { return target; }
+    public void setTarget(String target) { this.target = target; }
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getTriggeredAt() { return triggeredAt; }
+    public void setTriggeredAt(Instant triggeredAt) { this.triggeredAt = triggeredAt; }
+}
@@ -1,6 +1,5 @@
 package com.example.entity;
 
-import io.micronaut.data.annotation.DateCreated;
 import jakarta.persistence.*;
 import java.time.Instant;
 
@@ -18,7 +17,6 @@ public class RateHistory {
     @Column(nullable = false)
     private Double btcEur;
 
-    @DateCreated
     @Column(nullable = false)
     private Instant timestamp;
 
@@ -26,9 +24,13 @@ public class RateHistory {
     }
 
     public RateHistory(Double btcUsd, Double btcEur) {
+        this(btcUsd, btcEur, Instant.now());
+    }
+
+    public RateHistory(Double btcUsd, Double btcEur, Instant timestamp) {
         this.btcUsd = btcUsd;
         this.btcEur = btcEur;
-        this.timestamp = Instant.now();
+        this.timestamp = timestamp;
     }
 
     // Getters and Setters
@@ -0,0 +1,119 @@
+package com.example.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD limit on concurrent requests. The limit grows by one for each fast completion while
+ * at least half of it is in use, and is multiplied by the backoff ratio on a slow (over the
+ * latency threshold) or failed completion. So it settles just below the concurrency at which
+ * the backend starts to queue.
+ * <p>
+ * One overload episode backs off once: completions of requests that started before the last
+ * backoff do not back off again, since they never ran under the reduced limit. Latencies of
+ * {@link Priority#SHEDDABLE} requests (history scans, slow by design) never count as slow;
+ * only their failures do.
+ * <p>
+ * Priorities get different shares of the limit: {@link Priority#SHEDDABLE} requests are
+ * only admitted while in-flight is below a fraction of it, so they are shed first;
+ * {@link Priority#CRITICAL} requests ignore the adaptive limit and are capped only by
+ * the maximum.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL,
+        NORMAL,
+        SHEDDABLE
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double sheddableShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder[] rejected = {new LongAdder(), new LongAdder(), new LongAdder()};
+    private volatile double limit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio, double sheddableShare) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.sheddableShare = sheddableShare;
+    }
+
+    /**
+     * Admit a request of the given priority.
+     *
+     * @return false if it should be shed; otherwise the caller must call {@link #release}
+     */
+    public boolean tryAcquire(Priority priority) {
+        int cap = switch (priority) {
+            case CRITICAL -> maxLimit;
+            case NORMAL -> (int) limit;
+            case SHEDDABLE -> Math.max(1, (int) (limit * sheddableShare));
+        };
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                rejected[priority.ordinal()].increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and feed its latency into the limit.
+     *
+     * @param failed true for responses that signal overload (5xx)
+     */
+    public void release(Priority priority, long latencyNanos, boolean failed) {
+        release(priority, latencyNanos, failed, System.nanoTime());
+    }
+
+    void release(Priority priority, long latencyNanos, boolean failed, long nowNanos) {
+        int current = inFlight.getAndDecrement();
+        boolean slow = priority != Priority.SHEDDABLE && latencyNanos > latencyThresholdNanos;
+        synchronized (this) {
+            double next = limit;
+            if (failed || slow) {
+                long startNanos = nowNanos - latencyNanos;
+                if (!backedOff || startNanos - lastBackoffNanos >= 0) {
+                    next = limit * backoffRatio;
+                    backedOff = true;
+                    lastBackoffNanos = nowNanos;
+                }
+            } else if (current * 2 >= limit) {
+                next = limit + 1;
+            }
+            limit = Math.min(maxLimit, Math.max(minLimit, next));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected(Priority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+
+    public long getLatencyThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyThresholdNanos);
+    }
+}
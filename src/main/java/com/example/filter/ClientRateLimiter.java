@@ -0,0 +1,120 @@
+package com.example.filter;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one token bucket per (route, client). Memory is bounded by max-clients per route:
+ * once a route is full, unknown clients share a single overflow bucket until the idle
+ * sweep frees space.
+ */
+@Singleton
+public class ClientRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientRateLimiter.class);
+
+    private final Route[] routes;
+    private final int maxClients;
+    private final long idleNanos;
+
+    public ClientRateLimiter(List<RouteLimitConfiguration> routeConfigurations,
+                             @Value("${app.rate-limit.max-clients:100000}") int maxClients,
+                             @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        long now = System.nanoTime();
+        // Longest prefix first so the most specific route wins
+        this.routes = routeConfigurations.stream()
+                .filter(config -> config.getPath() != null && config.getRequestsPerSecond() > 0)
+                .sorted(Comparator.comparingInt((RouteLimitConfiguration config) -> config.getPath().length()).reversed())
+                .map(config -> new Route(config, now))
+                .toArray(Route[]::new);
+        this.maxClients = maxClients;
+        this.idleNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * @return the configured route for the path, or null if it is not limited
+     */
+    @Nullable
+    Route match(String path) {
+        for (Route route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 0 if allowed, otherwise nanos until the client may retry
+     */
+    long tryAcquire(Route route, String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket bucket = route.buckets.get(clientKey);
+        if (bucket == null) {
+            if (route.buckets.size() >= maxClients) {
+                bucket = route.overflow;
+            } else {
+                bucket = route.buckets.computeIfAbsent(clientKey, key -> new TokenBucket(now));
+            }
+        }
+        return bucket.tryAcquire(now, route.emissionIntervalNanos, route.burstToleranceNanos);
+    }
+
+    /**
+     * Drop buckets that have been full for the idle timeout; they carry no state worth keeping.
+     */
+    @Scheduled(fixedDelay = "${app.rate-limit.sweep-interval:1m}")
+    void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Route route : routes) {
+            int before = route.buckets.size();
+            route.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            evicted += before - route.buckets.size();
+        }
+        if (evicted > 0) {
+            LOG.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    static final class Route {
+        final String path;
+        final long emissionIntervalNanos;
+        final long burstToleranceNanos;
+        final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final TokenBucket overflow;
+
+        Route(RouteLimitConfiguration config, long now) {
+            this.path = config.getPath();
+            this.emissionIntervalNanos = (long) (1_000_000_000L / config.getRequestsPerSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, config.getBurst() - 1);
+            this.overflow = new TokenBucket(now);
+        }
+
+        boolean matches(String requestPath) {
+            return matchesPath(path, requestPath);
+        }
+    }
+
+    /**
+     * Prefix match on whole path segments: /api/history covers /api/history/total
+     * but not /api/historyX
+     */
+    static boolean matchesPath(String prefix, String requestPath) {
+        if (!requestPath.startsWith(prefix)) {
+            return false;
+        }
+        return requestPath.length() == prefix.length()
+                || prefix.endsWith("/")
+                || requestPath.charAt(prefix.length()) == '/';
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.filter;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Order;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.FilterContinuation;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limit for the API, applied after per-client rate limiting.
+ * Requests over the current limit for their priority are answered immediately with 503
+ * instead of queueing in front of a slow database. Critical paths (latest prices,
+ * health) are protected, history scans are shed first.
+ */
+@ServerFilter("/api/**")
+@Order(10)
+@Requires(property = "app.concurrency-limit.enabled", value = "true", defaultValue = "true")
+public class ConcurrencyLimitFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> criticalPaths;
+    private final List<String> sheddablePaths;
+
+    public ConcurrencyLimitFilter(@Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${app.concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${app.concurrency-limit.latency-threshold:250ms}") Duration latencyThreshold,
+                                  @Value("${app.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${app.concurrency-limit.sheddable-share:0.5}") double sheddableShare,
+                                  @Value("${app.concurrency-limit.critical-paths:/api/prices/latest,/api/health}") List<String> criticalPaths,
+                                  @Value("${app.concurrency-limit.sheddable-paths:/api/history}") List<String> sheddablePaths) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThreshold.toNanos(), backoffRatio, sheddableShare);
+        this.criticalPaths = List.copyOf(criticalPaths);
+        this.sheddablePaths = List.copyOf(sheddablePaths);
+    }
+
+    /**
+     * Runs the rest of the chain on this (blocking) thread so the permit is released
+     * however the request ends.
+     */
+    @RequestFilter
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public HttpResponse<?> limit(HttpRequest<?> request, FilterContinuation<MutableHttpResponse<?>> continuation) {
+        AdaptiveConcurrencyLimiter.Priority priority = classify(request.getPath());
+        if (!limiter.tryAcquire(priority)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Shed {} request to {} (limit {}, in flight {})",
+                        priority, request.getPath(), limiter.getLimit(), limiter.getInFlight());
+            }
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(
+                        "success", false,
+                        "error", "Server is overloaded, retry later"
+                    ));
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            MutableHttpResponse<?> response = continuation.proceed();
+            failed = response.getStatus().getCode() >= 500;
+            return response;
+        } finally {
+            limiter.release(priority, System.nanoTime() - start, failed);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Paths match on whole segments, like the rate limit routes: /api/health does not
+     * cover /api/healthz
+     */
+    AdaptiveConcurrencyLimiter.Priority classify(String path) {
+        for (String prefix : criticalPaths) {
+            if (ClientRateLimiter.matchesPath(prefix, path)) {
+                return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+            }
+        }
+        for (String prefix : sheddablePaths) {
+            if (ClientRateLimiter.matchesPath(prefix, path)) {
+                return AdaptiveConcurrencyLimiter.Priority.SHEDDABLE;
+            }
+        }
+        return AdaptiveConcurrencyLimiter.Priority.NORMAL;
+    }
+}
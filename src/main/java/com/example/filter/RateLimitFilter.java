@@ -0,0 +1,94 @@
+package com.example.filter;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-client rate limiting for the API. Clients are identified by their X-API-Key header
+ * when it is one of the configured {@code app.rate-limit.api-keys}, otherwise by their
+ * address, so made-up keys cannot be used to get fresh buckets. Forwarded headers only
+ * name the client when the connection comes from one of {@code app.rate-limit.trusted-proxies};
+ * anyone else could set them to a new value on every request.
+ * Rejected requests get 429 with a Retry-After header in whole seconds.
+ */
+@ServerFilter("/api/**")
+@Requires(property = "app.rate-limit.enabled", value = "true", defaultValue = "true")
+public class RateLimitFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final ClientRateLimiter limiter;
+    private final HttpClientAddressResolver addressResolver;
+    private final Set<String> apiKeys;
+    private final Set<String> trustedProxies;
+
+    public RateLimitFilter(ClientRateLimiter limiter,
+                           HttpClientAddressResolver addressResolver,
+                           @Value("${app.rate-limit.api-keys:}") List<String> apiKeys,
+                           @Value("${app.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        this.limiter = limiter;
+        this.addressResolver = addressResolver;
+        this.apiKeys = Set.copyOf(apiKeys.stream().filter(key -> !key.isBlank()).toList());
+        this.trustedProxies = Set.copyOf(trustedProxies.stream().map(String::trim).filter(proxy -> !proxy.isEmpty()).toList());
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> limit(HttpRequest<?> request) {
+        if (request.getMethod() == HttpMethod.OPTIONS) {
+            return null;
+        }
+        ClientRateLimiter.Route route = limiter.match(request.getPath());
+        if (route == null) {
+            return null;
+        }
+
+        String apiKey = request.getHeaders().get(API_KEY_HEADER);
+        String clientKey;
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            clientKey = "key:" + apiKey;
+        } else {
+            String address = clientAddress(request);
+            clientKey = "addr:" + (address == null ? "unknown" : address);
+        }
+
+        long waitNanos = limiter.tryAcquire(route, clientKey);
+        if (waitNanos == 0) {
+            return null;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return HttpResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of(
+                    "success", false,
+                    "error", "Rate limit exceeded"
+                ));
+    }
+
+    @Nullable
+    private String clientAddress(HttpRequest<?> request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        String peer = remote == null || remote.getAddress() == null ? null : remote.getAddress().getHostAddress();
+        if (peer != null && trustedProxies.contains(peer)) {
+            String forwarded = addressResolver.resolve(request);
+            if (forwarded != null) {
+                return forwarded;
+            }
+        }
+        return peer;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.filter;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+/**
+ * Per-route limit, e.g.
+ * <pre>
+ * app.rate-limit.routes.convert.path=/api/convert
+ * app.rate-limit.routes.convert.requests-per-second=20
+ * app.rate-limit.routes.convert.burst=40
+ * </pre>
+ * The path is matched as a prefix of the request path, on whole path segments.
+ */
+@EachProperty("app.rate-limit.routes")
+public class RouteLimitConfiguration {
+
+    private final String name;
+    private String path;
+    private double requestsPerSecond = 10;
+    private int burst = 20;
+
+    public RouteLimitConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
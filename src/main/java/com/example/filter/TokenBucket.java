@@ -0,0 +1,48 @@
+package com.example.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm).
+ * The whole state is one "theoretical arrival time" in nanos, so acquiring a token
+ * is a single CAS and a bucket costs one object plus one AtomicLong.
+ * A bucket whose arrival time is in the past is full, which is what makes idle
+ * eviction lossless.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @param emissionIntervalNanos time to regenerate one token (1 / rate)
+     * @param burstToleranceNanos emission interval multiplied by (burst - 1)
+     * @return 0 if the request is allowed, otherwise nanos until a token is available
+     */
+    long tryAcquire(long nowNanos, long emissionIntervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, nowNanos);
+            long ahead = arrival - nowNanos;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has been full for at least {@code idleNanos}.
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+}
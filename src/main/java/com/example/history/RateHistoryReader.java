@@ -0,0 +1,60 @@
+package com.example.history;
+
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Streams the three rate_history columns over plain JDBC for full-table loads, without
+ * materializing an entity (or a list of them) per row.
+ */
+@Singleton
+public class RateHistoryReader {
+
+    private static final String SELECT_SQL =
+            "SELECT timestamp, btc_usd, btc_eur FROM rate_history WHERE timestamp > ? ORDER BY timestamp";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long timestampMillis, double btcUsd, double btcEur);
+    }
+
+    private final EntityManager entityManager;
+
+    public RateHistoryReader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Hand every row newer than {@code after} to {@code consumer}, oldest first. Rows are
+     * fetched {@value #FETCH_SIZE} at a time through a cursor inside one read-only transaction.
+     *
+     * @return exact timestamp of the last row read, or {@code after} when there was none,
+     * to be passed back as the next cursor
+     */
+    @Transactional(readOnly = true)
+    public Instant forEachAfter(Instant after, RowConsumer consumer) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+                statement.setTimestamp(1, Timestamp.from(after));
+                statement.setFetchSize(FETCH_SIZE);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    Instant last = after;
+                    while (resultSet.next()) {
+                        last = resultSet.getTimestamp(1).toInstant();
+                        consumer.accept(last.toEpochMilli(), resultSet.getDouble(2), resultSet.getDouble(3));
+                    }
+                    return last;
+                }
+            }
+        });
+    }
+}
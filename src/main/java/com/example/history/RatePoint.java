@@ -0,0 +1,7 @@
+package com.example.history;
+
+/**
+ * BTC/USD and BTC/EUR at a point in time (epoch millis).
+ */
+public record RatePoint(long timestamp, double btcUsd, double btcEur) {
+}
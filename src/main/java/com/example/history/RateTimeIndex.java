@@ -0,0 +1,139 @@
+package com.example.history;
+
+import java.util.Arrays;
+
+/**
+ * Sorted primitive arrays of history timestamps and rates, searched with binary search.
+ * <p>
+ * Readers never lock: they work on an immutable-size view published through a volatile field.
+ * Appends in timestamp order write past the published size and then publish a larger view;
+ * out-of-order inserts and replacements copy the arrays they change first, so a view never
+ * changes under a reader.
+ */
+public final class RateTimeIndex {
+
+    private record View(long[] timestamps, double[] usd, double[] eur, int size) {
+    }
+
+    private volatile View view = new View(new long[16], new double[16], new double[16], 0);
+
+    /**
+     * Add or replace the sample at {@code timestampMillis}. Amortized O(1) when samples
+     * arrive in order, O(n) otherwise.
+     */
+    public synchronized void put(long timestampMillis, double btcUsd, double btcEur) {
+        View current = view;
+        int size = current.size;
+        if (size == 0 || timestampMillis > current.timestamps[size - 1]) {
+            View target = current;
+            if (size == current.timestamps.length) {
+                int capacity = size + (size >> 1);
+                target = new View(Arrays.copyOf(current.timestamps, capacity),
+                        Arrays.copyOf(current.usd, capacity),
+                        Arrays.copyOf(current.eur, capacity), size);
+            }
+            target.timestamps[size] = timestampMillis;
+            target.usd[size] = btcUsd;
+            target.eur[size] = btcEur;
+            view = new View(target.timestamps, target.usd, target.eur, size + 1);
+            return;
+        }
+        int found = Arrays.binarySearch(current.timestamps, 0, size, timestampMillis);
+        if (found >= 0) {
+            replace(current, found, btcUsd, btcEur);
+            return;
+        }
+        int capacity = Math.max(current.timestamps.length, size + 1);
+        long[] timestamps = new long[capacity];
+        double[] usd = new double[capacity];
+        double[] eur = new double[capacity];
+        int insertAt = -found - 1;
+        System.arraycopy(current.timestamps, 0, timestamps, 0, insertAt);
+        System.arraycopy(current.usd, 0, usd, 0, insertAt);
+        System.arraycopy(current.eur, 0, eur, 0, insertAt);
+        timestamps[insertAt] = timestampMillis;
+        usd[insertAt] = btcUsd;
+        eur[insertAt] = btcEur;
+        System.arraycopy(current.timestamps, insertAt, timestamps, insertAt + 1, size - insertAt);
+        System.arraycopy(current.usd, insertAt, usd, insertAt + 1, size - insertAt);
+        System.arraycopy(current.eur, insertAt, eur, insertAt + 1, size - insertAt);
+        view = new View(timestamps, usd, eur, size + 1);
+    }
+
+    /**
+     * Re-reading a sample already held is a no-op; otherwise only the rate array that changed
+     * is copied, the timestamps and the other rate array are shared with the current view.
+     */
+    private void replace(View current, int index, double btcUsd, double btcEur) {
+        boolean usdChanged = Double.compare(current.usd[index], btcUsd) != 0;
+        boolean eurChanged = Double.compare(current.eur[index], btcEur) != 0;
+        if (!usdChanged && !eurChanged) {
+            return;
+        }
+        double[] usd = current.usd;
+        if (usdChanged) {
+            usd = Arrays.copyOf(usd, usd.length);
+            usd[index] = btcUsd;
+        }
+        double[] eur = current.eur;
+        if (eurChanged) {
+            eur = Arrays.copyOf(eur, eur.length);
+            eur[index] = btcEur;
+        }
+        view = new View(current.timestamps, usd, eur, current.size);
+    }
+
+    public int size() {
+        return view.size;
+    }
+
+    /**
+     * Newest timestamp, or {@link Long#MIN_VALUE} when empty
+     */
+    public long lastTimestamp() {
+        View current = view;
+        return current.size == 0 ? Long.MIN_VALUE : current.timestamps[current.size - 1];
+    }
+
+    /**
+     * Rates in effect at {@code atMillis}: the latest sample at or before it, or, with
+     * {@code interpolate}, the linear blend of the samples around it.
+     *
+     * @return null when {@code atMillis} is before the first sample
+     */
+    public RatePoint at(long atMillis, boolean interpolate) {
+        return at(view, atMillis, interpolate);
+    }
+
+    /**
+     * Batch form of {@link #at(long, boolean)}, answered from one consistent view.
+     */
+    public RatePoint[] at(long[] atMillis, boolean interpolate) {
+        View current = view;
+        RatePoint[] points = new RatePoint[atMillis.length];
+        for (int i = 0; i < atMillis.length; i++) {
+            points[i] = at(current, atMillis[i], interpolate);
+        }
+        return points;
+    }
+
+    private static RatePoint at(View view, long atMillis, boolean interpolate) {
+        int found = Arrays.binarySearch(view.timestamps, 0, view.size, atMillis);
+        if (found >= 0) {
+            return new RatePoint(atMillis, view.usd[found], view.eur[found]);
+        }
+        int floor = -found - 2;
+        if (floor < 0) {
+            return null;
+        }
+        if (!interpolate || floor + 1 >= view.size) {
+            return new RatePoint(view.timestamps[floor], view.usd[floor], view.eur[floor]);
+        }
+        int ceiling = floor + 1;
+        double weight = (double) (atMillis - view.timestamps[floor])
+                / (view.timestamps[ceiling] - view.timestamps[floor]);
+        return new RatePoint(atMillis,
+                view.usd[floor] + (view.usd[ceiling] - view.usd[floor]) * weight,
+                view.eur[floor] + (view.eur[ceiling] - view.eur[floor]) * weight);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.history;
+
+import com.example.entity.RateHistory;
+import com.example.service.RateSnapshotChangedEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time rates over all of rate_history. Loaded at startup, then kept current the
+ * same way as the rolling statistics: the refresh job records each new row on the leader,
+ * followers catch up when they see a new snapshot version.
+ * Not loaded in the one-shot history import mode.
+ */
+@Singleton
+@Requires(notEnv = "import")
+public class RateTimeIndexService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateTimeIndexService.class);
+
+    private final RateHistoryReader reader;
+    private final RateTimeIndex index = new RateTimeIndex();
+
+    /** Exact timestamp of the newest row indexed; the index itself only keeps millis */
+    private Instant cursor = Instant.EPOCH;
+
+    public RateTimeIndexService(RateHistoryReader reader) {
+        this.reader = reader;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        try {
+            advance(reader.forEachAfter(Instant.EPOCH, index::put));
+            LOG.info("Rate time index loaded with {} samples", index.size());
+        } catch (Exception e) {
+            LOG.error("Failed to load rate time index", e);
+        }
+    }
+
+    /**
+     * Catch up with rows written by the leader on another node.
+     */
+    @EventListener
+    void onSnapshotChanged(RateSnapshotChangedEvent event) {
+        Instant since;
+        synchronized (this) {
+            since = cursor;
+        }
+        try {
+            advance(reader.forEachAfter(since, index::put));
+        } catch (Exception e) {
+            LOG.error("Failed to update rate time index", e);
+        }
+    }
+
+    public void record(RateHistory row) {
+        if (row.getTimestamp() == null || row.getBtcUsd() == null || row.getBtcEur() == null) {
+            return;
+        }
+        index.put(row.getTimestamp().toEpochMilli(), row.getBtcUsd(), row.getBtcEur());
+        advance(row.getTimestamp());
+    }
+
+    private synchronized void advance(Instant timestamp) {
+        if (timestamp.isAfter(cursor)) {
+            cursor = timestamp;
+        }
+    }
+
+    /**
+     * @see RateTimeIndex#at(long, boolean)
+     */
+    public RatePoint at(long atMillis, boolean interpolate) {
+        return index.at(atMillis, interpolate);
+    }
+
+    /**
+     * @see RateTimeIndex#at(long[], boolean)
+     */
+    public RatePoint[] at(long[] atMillis, boolean interpolate) {
+        return index.at(atMillis, interpolate);
+    }
+}
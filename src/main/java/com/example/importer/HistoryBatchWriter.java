@@ -0,0 +1,93 @@
+package com.example.importer;
+
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Plain JDBC access to rate_history and pair_rate for bulk loads, bypassing the entity
+ * lifecycle (no per-row persist, flush or id round trip).
+ */
+@Singleton
+public class HistoryBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_history (btc_usd, btc_eur, timestamp) VALUES (?, ?, ?)";
+
+    private static final String INSERT_POINT_SQL =
+            "INSERT INTO pair_rate (pair_id, ts, rate) VALUES (?, ?, ?)";
+
+    private static final String EXISTING_SQL =
+            "SELECT timestamp FROM rate_history WHERE timestamp >= ? AND timestamp <= ? ORDER BY timestamp";
+
+    private final EntityManager entityManager;
+
+    public HistoryBatchWriter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Insert rows [from, to) as JDBC batches in their own transaction: one legacy
+     * rate_history row and one pair_rate point per pair for each timestamp.
+     */
+    @Transactional
+    public void insert(RateColumns rows, int from, int to, short usdPairId, short eurPairId) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+                 PreparedStatement points = connection.prepareStatement(INSERT_POINT_SQL)) {
+                for (int i = from; i < to; i++) {
+                    Timestamp timestamp = Timestamp.from(Instant.ofEpochMilli(rows.timestamp(i)));
+                    statement.setDouble(1, rows.usd(i));
+                    statement.setDouble(2, rows.eur(i));
+                    statement.setTimestamp(3, timestamp);
+                    statement.addBatch();
+                    addPoint(points, usdPairId, timestamp, rows.usd(i));
+                    addPoint(points, eurPairId, timestamp, rows.eur(i));
+                }
+                statement.executeBatch();
+                points.executeBatch();
+            }
+        });
+    }
+
+    private static void addPoint(PreparedStatement points, short pairId, Timestamp timestamp, double rate)
+            throws SQLException {
+        points.setShort(1, pairId);
+        points.setTimestamp(2, timestamp);
+        points.setDouble(3, rate);
+        points.addBatch();
+    }
+
+    /**
+     * Timestamps (epoch millis, ascending) already stored within the given range.
+     */
+    @Transactional(readOnly = true)
+    public long[] existingTimestamps(long fromMillis, long toMillis) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(EXISTING_SQL)) {
+                statement.setTimestamp(1, Timestamp.from(Instant.ofEpochMilli(fromMillis)));
+                statement.setTimestamp(2, Timestamp.from(Instant.ofEpochMilli(toMillis)));
+                statement.setFetchSize(10_000);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    long[] timestamps = new long[1024];
+                    int count = 0;
+                    while (resultSet.next()) {
+                        if (count == timestamps.length) {
+                            timestamps = Arrays.copyOf(timestamps, count * 2);
+                        }
+                        timestamps[count++] = resultSet.getTimestamp(1).toInstant().toEpochMilli();
+                    }
+                    return Arrays.copyOf(timestamps, count);
+                }
+            }
+        });
+    }
+}
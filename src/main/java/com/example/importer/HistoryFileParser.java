@@ -0,0 +1,221 @@
+package com.example.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Parses historical rate files in parallel chunks split on line boundaries.
+ * <p>
+ * CSV: {@code timestamp,btc_usd,btc_eur}, with an optional header line.<br>
+ * NDJSON: one object per line with {@code timestamp}, {@code btc_usd} and {@code btc_eur}.<br>
+ * Timestamps are ISO-8601 instants or epoch seconds/millis. Blank lines and lines starting
+ * with '#' are ignored; malformed lines are counted and skipped.
+ */
+public final class HistoryFileParser {
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    /**
+     * Epoch values below this are seconds, above are millis (roughly year 5138 in seconds)
+     */
+    private static final long MILLIS_THRESHOLD = 100_000_000_000L;
+
+    /**
+     * Raw bytes held in memory at a time when parsing a file
+     */
+    public static final int DEFAULT_CHUNK_BYTES = 64 * 1024 * 1024;
+
+    private HistoryFileParser() {
+    }
+
+    /**
+     * Parse a file of any size by reading it in {@code chunkBytes} blocks cut at line
+     * boundaries, so only one block of raw bytes is in memory at a time.
+     */
+    public static RateColumns parse(Path path, Format format, int parallelism, int chunkBytes) throws IOException {
+        List<RateColumns> parts = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] buffer = new byte[Math.max(1024, chunkBytes)];
+            int filled = 0;
+            while (true) {
+                int read = channel.read(ByteBuffer.wrap(buffer, filled, buffer.length - filled));
+                if (read < 0) {
+                    if (filled > 0) {
+                        parts.add(parse(buffer, filled, format, parallelism));
+                    }
+                    break;
+                }
+                filled += read;
+                if (filled < buffer.length) {
+                    continue;
+                }
+                int lineEnd = filled;
+                while (lineEnd > 0 && buffer[lineEnd - 1] != '\n') {
+                    lineEnd--;
+                }
+                if (lineEnd == 0) {
+                    // A single line longer than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                parts.add(parse(buffer, lineEnd, format, parallelism));
+                System.arraycopy(buffer, lineEnd, buffer, 0, filled - lineEnd);
+                filled -= lineEnd;
+            }
+        }
+        return RateColumns.concat(parts);
+    }
+
+    public static RateColumns parse(byte[] data, Format format, int parallelism) {
+        return parse(data, data.length, format, parallelism);
+    }
+
+    /**
+     * Parse the first {@code length} bytes of {@code data} in parallel chunks
+     */
+    static RateColumns parse(byte[] data, int length, Format format, int parallelism) {
+        int chunks = Math.max(1, Math.min(parallelism * 4, length / (64 * 1024) + 1));
+        int[] bounds = new int[chunks + 1];
+        bounds[chunks] = length;
+        for (int i = 1; i < chunks; i++) {
+            int position = Math.max(bounds[i - 1], (int) ((long) length * i / chunks));
+            while (position < length && data[position - 1] != '\n') {
+                position++;
+            }
+            bounds[i] = position;
+        }
+        List<RateColumns> parts = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> parseChunk(data, bounds[i], bounds[i + 1], format))
+                .toList();
+        return RateColumns.concat(parts);
+    }
+
+    static RateColumns parseChunk(byte[] data, int from, int to, Format format) {
+        RateColumns columns = new RateColumns((to - from) / 48);
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd;
+            if (end > lineStart && data[end - 1] == '\r') {
+                end--;
+            }
+            if (end > lineStart && data[lineStart] != '#') {
+                try {
+                    if (format == Format.CSV) {
+                        parseCsvLine(data, lineStart, end, columns);
+                    } else {
+                        parseJsonLine(data, lineStart, end, columns);
+                    }
+                } catch (RuntimeException e) {
+                    columns.skipLine();
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return columns;
+    }
+
+    private static void parseCsvLine(byte[] data, int from, int to, RateColumns columns) {
+        int firstComma = indexOf(data, from, to, (byte) ',');
+        int secondComma = firstComma < 0 ? -1 : indexOf(data, firstComma + 1, to, (byte) ',');
+        if (secondComma < 0) {
+            throw new IllegalArgumentException("Expected 3 columns");
+        }
+        int thirdComma = indexOf(data, secondComma + 1, to, (byte) ',');
+        int eurEnd = thirdComma < 0 ? to : thirdComma;
+        String timestamp = text(data, from, firstComma);
+        if (timestamp.equalsIgnoreCase("timestamp")) {
+            // Header line
+            return;
+        }
+        columns.add(parseTimestamp(timestamp),
+                Double.parseDouble(text(data, firstComma + 1, secondComma)),
+                Double.parseDouble(text(data, secondComma + 1, eurEnd)));
+    }
+
+    private static void parseJsonLine(byte[] data, int from, int to, RateColumns columns) {
+        columns.add(parseTimestamp(jsonValue(data, from, to, "\"timestamp\"")),
+                Double.parseDouble(jsonValue(data, from, to, "\"btc_usd\"")),
+                Double.parseDouble(jsonValue(data, from, to, "\"btc_eur\"")));
+    }
+
+    /**
+     * Scalar value of a top-level key in a flat JSON object line
+     */
+    private static String jsonValue(byte[] data, int from, int to, String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.US_ASCII);
+        int keyAt = indexOf(data, from, to, keyBytes);
+        if (keyAt < 0) {
+            throw new IllegalArgumentException("Missing " + key);
+        }
+        int position = indexOf(data, keyAt + keyBytes.length, to, (byte) ':') + 1;
+        while (position < to && data[position] == ' ') {
+            position++;
+        }
+        if (position < to && data[position] == '"') {
+            int close = indexOf(data, position + 1, to, (byte) '"');
+            return text(data, position + 1, close);
+        }
+        int end = position;
+        while (end < to && data[end] != ',' && data[end] != '}' && data[end] != ' ') {
+            end++;
+        }
+        return text(data, position, end);
+    }
+
+    static long parseTimestamp(String value) {
+        String trimmed = value.trim();
+        if (!trimmed.isEmpty() && Character.isDigit(trimmed.charAt(0)) && trimmed.chars().allMatch(Character::isDigit)) {
+            long epoch = Long.parseLong(trimmed);
+            return epoch < MILLIS_THRESHOLD ? epoch * 1000 : epoch;
+        }
+        return Instant.parse(trimmed).toEpochMilli();
+    }
+
+    private static String text(byte[] data, int from, int to) {
+        return new String(data, from, to - from, StandardCharsets.ISO_8859_1).trim();
+    }
+
+    private static int indexOf(byte[] data, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] data, int from, int to, byte[] value) {
+        outer:
+        for (int i = from; i <= to - value.length; i++) {
+            for (int j = 0; j < value.length; j++) {
+                if (data[i + j] != value[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.importer;
+
+import com.example.service.PairDictionary;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backfills rate_history and pair_rate from CSV or NDJSON files: parallel parse, sort and
+ * deduplicate by timestamp, skip timestamps already stored, then batched inserts.
+ */
+@Singleton
+public class HistoryImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HistoryImporter.class);
+
+    private final HistoryBatchWriter writer;
+    private final PairDictionary pairs;
+    private final int batchSize;
+    private final int parallelism;
+
+    public HistoryImporter(HistoryBatchWriter writer,
+                           PairDictionary pairs,
+                           @Value("${app.import.batch-size:5000}") int batchSize,
+                           @Value("${app.import.parallelism:0}") int parallelism) {
+        this.writer = writer;
+        this.pairs = pairs;
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public ImportResult importFile(Path path) throws IOException {
+        long start = System.nanoTime();
+        HistoryFileParser.Format format = HistoryFileParser.Format.of(path);
+        RateColumns rows = HistoryFileParser.parse(path, format, parallelism, HistoryFileParser.DEFAULT_CHUNK_BYTES);
+        long parsed = rows.size();
+        LOG.info("Parsed {} rows from {} ({}, {} malformed lines skipped) in {} ms",
+                parsed, path, format, rows.skippedLines(), elapsedMillis(start));
+
+        int duplicates = rows.sortAndDeduplicate();
+        int existing = 0;
+        if (rows.size() > 0) {
+            existing = rows.removeTimestamps(writer.existingTimestamps(rows.timestamp(0), rows.timestamp(rows.size() - 1)));
+        }
+        LOG.info("{} duplicate rows in file, {} already stored, {} to insert", duplicates, existing, rows.size());
+
+        short usdPairId = pairs.idOf("BTC", "USD");
+        short eurPairId = pairs.idOf("BTC", "EUR");
+        long insertStart = System.nanoTime();
+        int total = rows.size();
+        for (int from = 0; from < total; from += batchSize) {
+            int to = Math.min(total, from + batchSize);
+            writer.insert(rows, from, to, usdPairId, eurPairId);
+            long insertMillis = Math.max(1, elapsedMillis(insertStart));
+            LOG.info("Imported {}/{} rows ({} rows/s)", to, total, to * 1000L / insertMillis);
+        }
+
+        ImportResult result = new ImportResult(parsed, rows.skippedLines(), duplicates, existing, total, elapsedMillis(start));
+        LOG.info("Import of {} finished: {}", path, result);
+        return result;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
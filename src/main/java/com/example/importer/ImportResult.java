@@ -0,0 +1,12 @@
+package com.example.importer;
+
+/**
+ * Outcome of a bulk history import.
+ */
+public record ImportResult(long parsedRows,
+                           long skippedLines,
+                           long duplicateRows,
+                           long existingRows,
+                           long insertedRows,
+                           long elapsedMillis) {
+}
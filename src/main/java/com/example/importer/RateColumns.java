@@ -0,0 +1,178 @@
+package com.example.importer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented buffer of parsed history rows (epoch millis, BTC/USD, BTC/EUR),
+ * kept as primitive arrays so millions of rows stay cheap to sort and batch.
+ */
+public final class RateColumns {
+
+    private long[] timestamps;
+    private double[] usd;
+    private double[] eur;
+    private int size;
+    private long skippedLines;
+
+    public RateColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.timestamps = new long[capacity];
+        this.usd = new double[capacity];
+        this.eur = new double[capacity];
+    }
+
+    public void add(long timestampMillis, double btcUsd, double btcEur) {
+        if (size == timestamps.length) {
+            int capacity = size + (size >> 1);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            usd = Arrays.copyOf(usd, capacity);
+            eur = Arrays.copyOf(eur, capacity);
+        }
+        timestamps[size] = timestampMillis;
+        usd[size] = btcUsd;
+        eur[size] = btcEur;
+        size++;
+    }
+
+    void skipLine() {
+        skippedLines++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long skippedLines() {
+        return skippedLines;
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public double usd(int index) {
+        return usd[index];
+    }
+
+    public double eur(int index) {
+        return eur[index];
+    }
+
+    /**
+     * Concatenate chunk results in order.
+     */
+    public static RateColumns concat(List<RateColumns> parts) {
+        int total = 0;
+        for (RateColumns part : parts) {
+            total += part.size;
+        }
+        RateColumns result = new RateColumns(total);
+        for (RateColumns part : parts) {
+            System.arraycopy(part.timestamps, 0, result.timestamps, result.size, part.size);
+            System.arraycopy(part.usd, 0, result.usd, result.size, part.size);
+            System.arraycopy(part.eur, 0, result.eur, result.size, part.size);
+            result.size += part.size;
+            result.skippedLines += part.skippedLines;
+        }
+        return result;
+    }
+
+    /**
+     * Sort by timestamp and keep only the last row (in input order) per timestamp.
+     *
+     * @return number of rows removed as duplicates
+     */
+    public int sortAndDeduplicate() {
+        if (!isSorted()) {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // Stable sort so "last in file wins" still holds after reordering
+            mergeSort(order, new int[size], 0, size);
+            long[] sortedTimestamps = new long[size];
+            double[] sortedUsd = new double[size];
+            double[] sortedEur = new double[size];
+            for (int i = 0; i < size; i++) {
+                sortedTimestamps[i] = timestamps[order[i]];
+                sortedUsd[i] = usd[order[i]];
+                sortedEur[i] = eur[order[i]];
+            }
+            timestamps = sortedTimestamps;
+            usd = sortedUsd;
+            eur = sortedEur;
+        }
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            if (read + 1 < size && timestamps[read + 1] == timestamps[read]) {
+                continue;
+            }
+            timestamps[write] = timestamps[read];
+            usd[write] = usd[read];
+            eur[write] = eur[read];
+            write++;
+        }
+        int removed = size - write;
+        size = write;
+        return removed;
+    }
+
+    /**
+     * Drop rows whose timestamp is in {@code existing} (sorted ascending). Requires
+     * this buffer to be sorted.
+     *
+     * @return number of rows removed
+     */
+    public int removeTimestamps(long[] existing) {
+        int write = 0;
+        int cursor = 0;
+        for (int read = 0; read < size; read++) {
+            long timestamp = timestamps[read];
+            while (cursor < existing.length && existing[cursor] < timestamp) {
+                cursor++;
+            }
+            if (cursor < existing.length && existing[cursor] == timestamp) {
+                continue;
+            }
+            timestamps[write] = timestamp;
+            usd[write] = usd[read];
+            eur[write] = eur[read];
+            write++;
+        }
+        int removed = size - write;
+        size = write;
+        return removed;
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (timestamps[i] < timestamps[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void mergeSort(int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(order, scratch, from, middle);
+        mergeSort(order, scratch, middle, to);
+        if (timestamps[order[middle - 1]] <= timestamps[order[middle]]) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && timestamps[scratch[left]] <= timestamps[scratch[right]])) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Latest price per pair out of a tick stream: older or equal-timestamp ticks for a pair
+ * are superseded, so however many ticks arrive per interval only one point per pair is
+ * persisted. Owned by the ingestion writer thread.
+ */
+public final class ConflatedRates implements TickHandler {
+
+    private final double[] prices;
+    private final long[] timestamps;
+    private boolean dirty;
+    private long conflated;
+
+    public ConflatedRates(int pairCount) {
+        this.prices = new double[pairCount];
+        this.timestamps = new long[pairCount];
+        Arrays.fill(timestamps, Long.MIN_VALUE);
+    }
+
+    @Override
+    public void onTick(int pair, double price, long timestamp) {
+        if (timestamps[pair] != Long.MIN_VALUE) {
+            conflated++;
+        }
+        // Out-of-order ticks from the source must not move a pair back in time
+        if (timestamp >= timestamps[pair]) {
+            prices[pair] = price;
+            timestamps[pair] = timestamp;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Whether every pair has received at least one tick
+     */
+    public boolean isComplete() {
+        for (long timestamp : timestamps) {
+            if (timestamp == Long.MIN_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double price(int pair) {
+        return prices[pair];
+    }
+
+    public long timestamp(int pair) {
+        return timestamps[pair];
+    }
+
+    /**
+     * Newest timestamp over all pairs
+     */
+    public long latestTimestamp() {
+        long latest = Long.MIN_VALUE;
+        for (long timestamp : timestamps) {
+            latest = Math.max(latest, timestamp);
+        }
+        return latest;
+    }
+
+    /**
+     * @return whether anything changed since the previous call
+     */
+    public boolean takeDirty() {
+        boolean was = dirty;
+        dirty = false;
+        return was;
+    }
+
+    /**
+     * Ticks that replaced an earlier price instead of being persisted on their own
+     */
+    public long conflated() {
+        return conflated;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ingest;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Reads ticks from a TCP line feed, one {@code PAIR PRICE EPOCH_MILLIS} line per tick,
+ * e.g. {@code BTC/USD 97000.5 1735689600000}. Reconnects with a fixed delay when the
+ * connection drops. Malformed lines are counted and skipped.
+ */
+@Singleton
+@Requires(property = "app.ingest.source", value = "socket", defaultValue = "socket")
+public class SocketTickSource implements TickSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SocketTickSource.class);
+
+    private final String host;
+    private final int port;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private volatile long malformedLines;
+    private Thread reader;
+
+    public SocketTickSource(@Value("${app.ingest.socket.host:localhost}") String host,
+                            @Value("${app.ingest.socket.port:9400}") int port,
+                            @Value("${app.ingest.socket.reconnect-delay:2s}") Duration reconnectDelay) {
+        this.host = host;
+        this.port = port;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public synchronized void start(TickSink sink) {
+        if (running) {
+            return;
+        }
+        running = true;
+        reader = Thread.ofPlatform().name("tick-source-" + host + ":" + port).daemon().start(() -> readLoop(sink));
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        closeSocket();
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    private void readLoop(TickSink sink) {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                connection.connect(new InetSocketAddress(host, port), (int) reconnectDelay.toMillis());
+                socket = connection;
+                LOG.info("Connected to tick feed {}:{}", host, port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!parse(line, sink)) {
+                        malformedLines++;
+                    }
+                }
+                LOG.warn("Tick feed {}:{} closed the connection", host, port);
+            } catch (IOException e) {
+                if (running) {
+                    LOG.warn("Tick feed {}:{} unavailable: {}", host, port, e.getMessage());
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false for malformed lines
+     */
+    static boolean parse(String line, TickSink sink) {
+        int first = line.indexOf(' ');
+        int second = first < 0 ? -1 : line.indexOf(' ', first + 1);
+        if (second < 0) {
+            return false;
+        }
+        try {
+            double price = Double.parseDouble(line.substring(first + 1, second));
+            long timestamp = Long.parseLong(line.substring(second + 1).trim());
+            if (!(price > 0) || !Double.isFinite(price)) {
+                return false;
+            }
+            sink.accept(line.substring(0, first), price, timestamp);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.ingest;
+
+/**
+ * Receives ticks as primitives so the hot path allocates nothing per tick.
+ */
+@FunctionalInterface
+public interface TickHandler {
+
+    /**
+     * @param pair      index of the pair in the ingestion's pair list
+     * @param price     last traded or quoted price
+     * @param timestamp epoch millis reported by the source
+     */
+    void onTick(int pair, double price, long timestamp);
+}
@@ -0,0 +1,228 @@
+package com.example.ingest;
+
+import com.example.jobs.RefreshPipeline;
+import com.example.provider.PriceQuote;
+import com.example.service.CurrentRate;
+import com.example.service.LeaderLeaseService;
+import com.example.service.RateService;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streaming replacement for the 5-minute poll: source threads publish ticks into a
+ * {@link TickRingBuffer}; one writer thread drains it into {@link ConflatedRates}, hands
+ * the newest prices to {@link RateService} after every drain so readers always see the
+ * latest tick, and once per {@code app.ingest.flush-interval} persists the conflated
+ * prices through the {@link RefreshPipeline}, i.e. one exchange_rate update and one
+ * history entry per interval however many ticks arrived.
+ * <p>
+ * Publishing a snapshot makes every node reload its rates, drop its history cache and
+ * evaluate alerts, so it is throttled separately to once per
+ * {@code app.ingest.publish-interval}; flushes in between only persist.
+ * Every node ingests so its readers stay current; only the leader persists.
+ */
+@Singleton
+@Requires(property = "app.ingest.enabled", value = "true")
+@Requires(notEnv = "import")
+public class TickIngestionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TickIngestionService.class);
+
+    static final int USD = 0;
+    static final int EUR = 1;
+
+    private static final int DRAIN_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final TickSource source;
+    private final RateService rateService;
+    private final RefreshPipeline pipeline;
+    private final LeaderLeaseService leaderLease;
+    private final TickRingBuffer ring;
+    private final ConflatedRates conflated = new ConflatedRates(2);
+    private final long flushIntervalNanos;
+    private final long publishIntervalNanos;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder unknownPairs = new LongAdder();
+    private volatile long flushes;
+    private volatile boolean running;
+    private Thread writer;
+
+    // Writer thread state
+    private boolean unflushed;
+    private long lastFlushedTimestamp = Long.MIN_VALUE;
+    private boolean unpublished;
+    private boolean publishedOnce;
+    private long lastPublishNanos;
+
+    public TickIngestionService(TickSource source,
+                                RateService rateService,
+                                RefreshPipeline pipeline,
+                                LeaderLeaseService leaderLease,
+                                @Value("${app.ingest.ring-size:65536}") int ringSize,
+                                @Value("${app.ingest.flush-interval:1s}") Duration flushInterval,
+                                @Value("${app.ingest.publish-interval:30s}") Duration publishInterval) {
+        this.source = source;
+        this.rateService = rateService;
+        this.pipeline = pipeline;
+        this.leaderLease = leaderLease;
+        this.ring = new TickRingBuffer(ringSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.publishIntervalNanos = publishInterval.toNanos();
+    }
+
+    @EventListener
+    synchronized void onStartup(StartupEvent event) {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("tick-writer").daemon().start(this::writeLoop);
+        source.start(this::publish);
+        LOG.info("Tick ingestion started (ring of {} slots, flush every {} ms)",
+                ring.capacity(), TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    /**
+     * Called from source threads for every tick
+     *
+     * @return false for unknown pairs or when the ring is full
+     */
+    public boolean publish(String pair, double price, long timestamp) {
+        int index = switch (pair) {
+            case "BTC/USD" -> USD;
+            case "BTC/EUR" -> EUR;
+            default -> -1;
+        };
+        if (index < 0) {
+            unknownPairs.increment();
+            return false;
+        }
+        received.increment();
+        return ring.offer(index, price, timestamp);
+    }
+
+    private void writeLoop() {
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+        while (running) {
+            int drained = ring.drain(conflated, DRAIN_BATCH);
+            if (conflated.takeDirty()) {
+                unflushed = true;
+                publishLatest();
+            }
+            long now = System.nanoTime();
+            if (now - nextFlush >= 0) {
+                flush(now, false);
+                nextFlush = now + flushIntervalNanos;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // Persist what is left on shutdown
+        ring.drain(conflated, Integer.MAX_VALUE);
+        if (conflated.takeDirty()) {
+            unflushed = true;
+        }
+        flush(System.nanoTime(), true);
+    }
+
+    private void publishLatest() {
+        if (conflated.isComplete()) {
+            rateService.updateLiveRates(
+                    new CurrentRate("BTC", "USD", conflated.price(USD), Instant.ofEpochMilli(conflated.timestamp(USD))),
+                    new CurrentRate("BTC", "EUR", conflated.price(EUR), Instant.ofEpochMilli(conflated.timestamp(EUR))));
+        }
+    }
+
+    /**
+     * @param force publish regardless of the publish interval, on shutdown
+     */
+    private void flush(long nowNanos, boolean force) {
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        boolean publish = force || !publishedOnce || nowNanos - lastPublishNanos >= publishIntervalNanos;
+        long timestamp = conflated.latestTimestamp();
+        // Also skips equal timestamps, which would collide in pair_rate
+        if (!unflushed || !conflated.isComplete() || timestamp <= lastFlushedTimestamp) {
+            if (publish && unpublished) {
+                // Nothing new since the last write, but followers have not seen it yet; alerts
+                // catch up at the next published flush, which compares against the last rates
+                // they were evaluated with
+                try {
+                    leaderLease.publishSnapshot();
+                    published(nowNanos);
+                } catch (Exception e) {
+                    LOG.error("Failed to publish streamed rates", e);
+                }
+            }
+            return;
+        }
+        Instant at = Instant.ofEpochMilli(timestamp);
+        PriceQuote quote = new PriceQuote("stream", conflated.price(USD), conflated.price(EUR), at);
+        if (pipeline.run(() -> {
+            rateService.storeQuote(quote, at);
+            return true;
+        }, at, (stage, nanos) -> { }, publish, publish)) {
+            unflushed = false;
+            lastFlushedTimestamp = timestamp;
+            flushes++;
+            if (publish) {
+                published(nowNanos);
+            } else {
+                unpublished = true;
+            }
+            LOG.debug("Flushed conflated ticks at {} ({} received, {} conflated, {} rejected, published: {})",
+                    at, received.sum(), conflated.conflated(), ring.rejected(), publish);
+        }
+    }
+
+    private void published(long nowNanos) {
+        publishedOnce = true;
+        unpublished = false;
+        lastPublishNanos = nowNanos;
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        source.close();
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getRejected() {
+        return ring.rejected();
+    }
+
+    public long getUnknownPairs() {
+        return unknownPairs.sum();
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded ring of preallocated tick slots, many producers and a single consumer.
+ * Producers claim a sequence with a CAS and mark the slot published once it is filled;
+ * the consumer reads slots in sequence order and frees them in bulk after each drain.
+ * A full ring rejects ticks instead of blocking the source, since conflation only
+ * needs the latest price per pair anyway.
+ */
+public final class TickRingBuffer {
+
+    private final int mask;
+    private final int[] pairs;
+    private final double[] prices;
+    private final long[] timestamps;
+    /**
+     * Sequence last published into each slot, -1 while empty
+     */
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private volatile long consumed;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public TickRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.pairs = new int[size];
+        this.prices = new double[size];
+        this.timestamps = new long[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * @return false if the ring is full and the tick was dropped
+     */
+    public boolean offer(int pair, double price, long timestamp) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed > mask) {
+                rejected.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        pairs[slot] = pair;
+        prices[slot] = price;
+        timestamps[slot] = timestamp;
+        // Volatile write orders the slot fields before the consumer can see the sequence
+        published.set(slot, sequence);
+        return true;
+    }
+
+    /**
+     * Hand up to {@code max} published ticks to {@code handler}, in claim order.
+     * Must only be called from the single consumer thread.
+     *
+     * @return number of ticks drained
+     */
+    public int drain(TickHandler handler, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            int slot = (int) next & mask;
+            if (published.get(slot) != next) {
+                break;
+            }
+            handler.onTick(pairs[slot], prices[slot], timestamps[slot]);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next;
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long size() {
+        return claimed.get() - consumed;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ingest;
+
+/**
+ * A streaming price feed. Implementations push every tick they receive to the sink from
+ * their own thread(s) until closed, reconnecting as needed.
+ */
+public interface TickSource extends AutoCloseable {
+
+    /**
+     * @param sink receives {@code (pair code, price, epoch millis)}, e.g. {@code ("BTC/USD", 97000.5, ...)};
+     *             returns false when the tick was not accepted
+     */
+    void start(TickSink sink);
+
+    @Override
+    void close();
+
+    @FunctionalInterface
+    interface TickSink {
+        boolean accept(String pair, double price, long timestamp);
+    }
+}
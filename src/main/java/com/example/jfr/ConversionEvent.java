@@ -0,0 +1,50 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Handling of one POST /api/convert request.
+ */
+@Name("com.example.Conversion")
+@Label("Conversion")
+@Category({"VexlConverter", "Conversion"})
+@Description("A BTC conversion request, at latest or historical rates")
+@StackTrace(false)
+public class ConversionEvent extends Event {
+
+    @Label("Pair")
+    public String pair;
+
+    @Label("Mode")
+    @Description("latest or historical")
+    public String mode;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Row Count")
+    @Description("Number of timestamps converted")
+    public int rowCount;
+
+    public static ConversionEvent start() {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String pair, String mode, String outcome, int rowCount) {
+        end();
+        if (shouldCommit()) {
+            this.pair = pair;
+            this.mode = mode;
+            this.outcome = outcome;
+            this.rowCount = rowCount;
+            commit();
+        }
+    }
+}
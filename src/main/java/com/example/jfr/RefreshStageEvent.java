@@ -0,0 +1,47 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of {@code RateRefreshJob.refresh()}.
+ */
+@Name("com.example.RefreshStage")
+@Label("Rate Refresh Stage")
+@Category({"VexlConverter", "Refresh"})
+@Description("A stage of the scheduled rate refresh")
+@StackTrace(false)
+public class RefreshStageEvent extends Event {
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Row Count")
+    public int rowCount;
+
+    /**
+     * Begin timing a stage; a no-op apart from the allocation when no recording is running.
+     */
+    public static RefreshStageEvent start(String stage) {
+        RefreshStageEvent event = new RefreshStageEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome, int rowCount) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.rowCount = rowCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to a Micronaut Data repository method, emitted by {@link RepositoryEventInterceptor}.
+ */
+@Name("com.example.RepositoryCall")
+@Label("Repository Call")
+@Category({"VexlConverter", "Persistence"})
+@Description("A repository method call and the rows it returned or changed")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Row Count")
+    public long rowCount;
+
+    @Label("Pair")
+    @Description("Id of the currency pair the call was scoped to, -1 when it was not")
+    public short pair = -1;
+}
@@ -0,0 +1,85 @@
+package com.example.jfr;
+
+import com.example.entity.PairRateId;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.type.MutableArgumentValue;
+import jakarta.inject.Singleton;
+import jdk.jfr.EventType;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Times repository calls as {@link RepositoryCallEvent}s. When no recording has the event
+ * enabled it only checks the cached event type and forwards the call, without creating an event.
+ */
+@Singleton
+@InterceptorBean(RepositoryEvents.class)
+public class RepositoryEventInterceptor implements MethodInterceptor<Object, Object> {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryCallEvent.class);
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return context.proceed();
+        }
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        String outcome = "error";
+        long rowCount = 0;
+        try {
+            Object result = context.proceed();
+            outcome = "success";
+            rowCount = rowCount(result);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = context.getDeclaringType().getSimpleName();
+                event.method = context.getMethodName();
+                event.outcome = outcome;
+                event.rowCount = rowCount;
+                event.pair = pairId(context);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Pair the call is scoped to: a {@code pairId} argument or the pair of a {@link PairRateId}
+     */
+    private static short pairId(MethodInvocationContext<Object, Object> context) {
+        for (MutableArgumentValue<?> argument : context.getParameters().values()) {
+            Object value = argument.getValue();
+            if (value instanceof PairRateId id) {
+                return id.getPairId();
+            }
+            if (value instanceof Short id && "pairId".equals(argument.getName())) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rows returned, or rows changed for update queries returning an int
+     */
+    private static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return 1;
+    }
+}
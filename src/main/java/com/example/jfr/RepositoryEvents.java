@@ -0,0 +1,21 @@
+package com.example.jfr;
+
+import io.micronaut.aop.Around;
+import io.micronaut.aop.InterceptorBinding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Emit a {@link RepositoryCallEvent} for every method of the annotated repository.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+@InterceptorBinding
+public @interface RepositoryEvents {
+}
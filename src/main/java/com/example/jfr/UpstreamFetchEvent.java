@@ -0,0 +1,51 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A price fetch from an upstream API, or the aggregated fetch across all providers.
+ */
+@Name("com.example.UpstreamFetch")
+@Label("Upstream Price Fetch")
+@Category({"VexlConverter", "Upstream"})
+@Description("A price request to an upstream provider")
+@StackTrace(false)
+public class UpstreamFetchEvent extends Event {
+
+    @Label("Source")
+    public String source;
+
+    @Label("Pair")
+    public String pair;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Response Size")
+    @DataAmount
+    @Description("Response body size from Content-Length, -1 when unknown")
+    public long bytes = -1;
+
+    public static UpstreamFetchEvent start(String source, String pair) {
+        UpstreamFetchEvent event = new UpstreamFetchEvent();
+        event.source = source;
+        event.pair = pair;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.example.jobs;
 
-import com.example.entity.RateHistory;
-import com.example.repository.RateHistoryRepository;
+import com.example.jfr.RefreshStageEvent;
+import com.example.service.LeaderLeaseService;
 import com.example.service.RateService;
+import io.micronaut.context.annotation.Requires;
 import io.micronaut.scheduling.annotation.Scheduled;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+
 /**
  * Scheduled job to refresh BTC prices every 5 minutes.
- * Fetches from CoinGecko API, stores in PostgreSQL, and saves to history.
+ * Fetches from the configured price providers, stores in PostgreSQL, and saves to history.
  * Matches Python scheduler.py behavior.
+ * Only the node holding the leader lease does the work; the others pick up
+ * the result through the snapshot version.
+ * Each stage is recorded as a {@link RefreshStageEvent} for Flight Recorder.
+ * Disabled in the one-shot history import mode and in market replay, which drives
+ * {@link RefreshPipeline} itself, and replaced by streaming ingestion when that is enabled.
  */
 @Singleton
+@Requires(notEnv = {"import", "replay"})
+@Requires(property = "app.ingest.enabled", notEquals = "true")
 public class RateRefreshJob {
 
     private static final Logger LOG = LoggerFactory.getLogger(RateRefreshJob.class);
@@ -23,7 +33,10 @@ public class RateRefreshJob {
     RateService rateService;
 
     @Inject
-    RateHistoryRepository rateHistoryRepository;
+    LeaderLeaseService leaderLease;
+
+    @Inject
+    RefreshPipeline pipeline;
 
     /**
      * Scheduled task: runs every 5 minutes (300 seconds).
@@ -31,20 +44,16 @@ public class RateRefreshJob {
      */
     @Scheduled(fixedDelay = "5m", initialDelay = "10s")
     void refresh() {
-        LOG.info("🔄 Refreshing BTC prices from CoinGecko...");
-        try {
-            rateService.fetchAndStorePrices();
-
-            // Also save to history table for charting
-            rateService.getCurrentRates().ifPresent(rates -> {
-                RateHistory history = new RateHistory(rates.get("usd"), rates.get("eur"));
-                rateHistoryRepository.save(history);
-                LOG.info("📊 Saved to history: USD=${}, EUR=€{}", rates.get("usd"), rates.get("eur"));
-            });
-
+        RefreshStageEvent stage = RefreshStageEvent.start("lease");
+        if (!leaderLease.tryAcquireLeadership()) {
+            stage.finish("skipped", 0);
+            LOG.debug("Skipping price refresh, node {} is a follower", leaderLease.getNodeId());
+            return;
+        }
+        stage.finish("success", 0);
+        LOG.info("🔄 Refreshing BTC prices from price providers...");
+        if (pipeline.run(rateService::fetchAndStorePrices, Instant.now(), (name, nanos) -> { })) {
             LOG.info("✓ Price refresh completed successfully");
-        } catch (Exception e) {
-            LOG.error("✗ Price refresh failed", e);
         }
     }
 }
@@ -0,0 +1,134 @@
+package com.example.jobs;
+
+import com.example.alert.AlertService;
+import com.example.entity.RateHistory;
+import com.example.history.RateTimeIndexService;
+import com.example.jfr.RefreshStageEvent;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.LeaderLeaseService;
+import com.example.service.RateService;
+import com.example.service.TimeSeriesService;
+import com.example.stats.RollingStatsService;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * The refresh stages run by the leader: fetch-and-store → history → publish → alerts.
+ * Shared by the scheduled {@link RateRefreshJob} and market replay, so both exercise the
+ * same persistence and cache invalidation path; replay skips the alerts stage.
+ * Each stage is recorded as a {@link RefreshStageEvent} and its duration reported to the caller.
+ */
+@Singleton
+@Requires(notEnv = "import")
+public class RefreshPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshPipeline.class);
+
+    @Inject
+    RateService rateService;
+
+    @Inject
+    RateHistoryRepository rateHistoryRepository;
+
+    @Inject
+    LeaderLeaseService leaderLease;
+
+    @Inject
+    RollingStatsService rollingStats;
+
+    @Inject
+    RateTimeIndexService rateTimeIndex;
+
+    @Inject
+    TimeSeriesService timeSeries;
+
+    @Inject
+    AlertService alertService;
+
+    /**
+     * @param fetchAndStore updates the current rates, returning whether anything was stored
+     * @param at            timestamp of the history entry and of alert evaluation
+     * @param stageNanos    receives the duration of every completed stage
+     * @return false if nothing was stored or a stage failed
+     */
+    public boolean run(BooleanSupplier fetchAndStore, Instant at, ObjLongConsumer<String> stageNanos) {
+        return run(fetchAndStore, at, stageNanos, true, true);
+    }
+
+    /**
+     * @param publish        false to persist without bumping the snapshot version, for callers
+     *                       that announce several writes at once
+     * @param evaluateAlerts false for recorded ticks, which must not fire (and so use up)
+     *                       the one-shot alerts of real subscribers
+     * @see #run(BooleanSupplier, Instant, ObjLongConsumer)
+     */
+    public boolean run(BooleanSupplier fetchAndStore, Instant at, ObjLongConsumer<String> stageNanos,
+                       boolean publish, boolean evaluateAlerts) {
+        RefreshStageEvent stage = RefreshStageEvent.start("fetch-and-store");
+        long start = System.nanoTime();
+        try {
+            boolean stored = fetchAndStore.getAsBoolean();
+            stage.finish(stored ? "success" : "failure", stored ? 2 : 0);
+            start = lap(stageNanos, "fetch-and-store", start);
+            if (!stored) {
+                // Nothing new: re-recording the previous rates would duplicate history
+                return false;
+            }
+
+            // Save to the pair_rate time series read by the APIs, and to the legacy history table
+            stage = RefreshStageEvent.start("history");
+            Optional<Map<String, Double>> current = rateService.getCurrentRates();
+            if (current.isPresent()) {
+                Map<String, Double> rates = current.get();
+                RateHistory history = new RateHistory(rates.get("usd"), rates.get("eur"), at);
+                RateHistory saved = rateHistoryRepository.save(history);
+                timeSeries.record(saved.getTimestamp(), Map.of(
+                        "BTC/USD", rates.get("usd"),
+                        "BTC/EUR", rates.get("eur")));
+                rollingStats.record(saved);
+                rateTimeIndex.record(saved);
+                LOG.info("📊 Saved to history: USD=${}, EUR=€{}", rates.get("usd"), rates.get("eur"));
+            }
+            // One legacy history row plus one point per pair
+            stage.finish(current.isPresent() ? "success" : "skipped", current.isPresent() ? 3 : 0);
+            start = lap(stageNanos, "history", start);
+
+            if (publish) {
+                stage = RefreshStageEvent.start("publish");
+                leaderLease.publishSnapshot();
+                stage.finish("success", 0);
+                start = lap(stageNanos, "publish", start);
+            }
+
+            // After publishing, so a failing alert sink cannot hold back the new rates
+            if (evaluateAlerts && current.isPresent()) {
+                stage = RefreshStageEvent.start("alerts");
+                int fired = alertService.evaluate(at, Map.of(
+                        "BTC/USD", current.get().get("usd"),
+                        "BTC/EUR", current.get().get("eur")));
+                stage.finish("success", fired);
+                lap(stageNanos, "alerts", start);
+            }
+            return true;
+        } catch (Exception e) {
+            stage.finish("error", 0);
+            LOG.error("✗ Price refresh failed", e);
+            return false;
+        }
+    }
+
+    private static long lap(ObjLongConsumer<String> stageNanos, String stage, long startNanos) {
+        long now = System.nanoTime();
+        stageNanos.accept(stage, now - startNanos);
+        return now;
+    }
+}
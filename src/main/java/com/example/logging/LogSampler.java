@@ -0,0 +1,49 @@
+package com.example.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permits} log lines through per interval and counts the rest.
+ * Guard the log call with {@link #tryAcquire()} so suppressed lines cost neither
+ * argument boxing nor formatting:
+ * <pre>
+ * if (SAMPLER.tryAcquire()) {
+ *     LOG.info("...", a, b);
+ * }
+ * </pre>
+ */
+public final class LogSampler {
+
+    private final long permits;
+    private final long intervalNanos;
+    private final AtomicLong windowStart;
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogSampler(long permits, Duration interval) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Number of lines suppressed since the last call
+     */
+    public long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
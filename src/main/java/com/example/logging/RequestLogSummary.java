@@ -0,0 +1,82 @@
+package com.example.logging;
+
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated counters for request hot paths. Controllers bump these instead of logging
+ * a line per request, and one summary line is written per interval when there was traffic.
+ * Also owns the samplers for the occasional per-request line, so the lines they suppress
+ * are reported in the summary.
+ */
+@Singleton
+public class RequestLogSummary {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestLogSummary.class);
+
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder failedConversions = new LongAdder();
+    private final LongAdder historyReads = new LongAdder();
+    private final LongAdder historyRows = new LongAdder();
+    private final LongAdder historyCacheHits = new LongAdder();
+
+    /**
+     * One sample conversion line and one sample history line per 10 seconds
+     */
+    private final LogSampler conversionSampler = new LogSampler(1, Duration.ofSeconds(10));
+    private final LogSampler historySampler = new LogSampler(1, Duration.ofSeconds(10));
+
+    public void conversion() {
+        conversions.increment();
+    }
+
+    public void failedConversion() {
+        failedConversions.increment();
+    }
+
+    public void historyRead(int rows) {
+        historyReads.increment();
+        historyRows.add(rows);
+    }
+
+    /**
+     * A history query answered from the serialized response cache
+     */
+    public void historyCacheHit() {
+        historyCacheHits.increment();
+    }
+
+    /**
+     * Whether this conversion may log its own line
+     */
+    public boolean sampleConversion() {
+        return conversionSampler.tryAcquire();
+    }
+
+    /**
+     * Whether this history query may log its own line
+     */
+    public boolean sampleHistoryRead() {
+        return historySampler.tryAcquire();
+    }
+
+    @Scheduled(fixedDelay = "${app.logging.summary-interval:1m}")
+    void logSummary() {
+        long converted = conversions.sumThenReset();
+        long failed = failedConversions.sumThenReset();
+        long reads = historyReads.sumThenReset();
+        long rows = historyRows.sumThenReset();
+        long cacheHits = historyCacheHits.sumThenReset();
+        long suppressed = conversionSampler.drainSuppressed() + historySampler.drainSuppressed();
+        if (converted + failed + reads + cacheHits > 0) {
+            LOG.info("Requests since last summary: {} conversions ({} failed), {} history queries returning {} rows, "
+                            + "{} history responses from cache, {} sampled log lines suppressed",
+                    converted + failed, failed, reads, rows, cacheHits, suppressed);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.money;
+
+import java.math.RoundingMode;
+
+/**
+ * Allocation-free fixed-point arithmetic on {@code long} amounts.
+ * <p>
+ * Amounts are held in the smallest unit of their {@link MoneyUnit} (satoshis, cents) and
+ * exchange rates as whole target currency per whole source unit scaled by {@link #RATE_SCALE},
+ * e.g. 87265.12 USD/BTC is {@code 8_726_512_000_000L}. Conversions multiply into a 128-bit
+ * intermediate and divide once, so results are exact and independent of evaluation order.
+ * Arithmetic is defined for non-negative amounts and rates only.
+ */
+public final class FixedPoint {
+
+    /**
+     * Decimal places kept for exchange rates
+     */
+    public static final int RATE_DIGITS = 8;
+    public static final long RATE_SCALE = 100_000_000L;
+
+    private static final long[] POW10 = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+        10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+        10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    public static long pow10(int exponent) {
+        return POW10[exponent];
+    }
+
+    /**
+     * Convert {@code sourceUnits} of {@code source} into units of {@code target}.
+     *
+     * @param rateScaled target per source, scaled by {@link #RATE_SCALE}
+     */
+    public static long convert(long sourceUnits, MoneyUnit source, long rateScaled,
+                               MoneyUnit target, RoundingMode mode) {
+        return convert(sourceUnits, source.getScale(), rateScaled, target.getScale(), mode);
+    }
+
+    /**
+     * Same as {@link #convert(long, MoneyUnit, long, MoneyUnit, RoundingMode)} for currencies
+     * identified only by their number of decimal places.
+     */
+    public static long convert(long sourceUnits, int sourceScale, long rateScaled,
+                               int targetScale, RoundingMode mode) {
+        int exponent = sourceScale + RATE_DIGITS - targetScale;
+        if (exponent < 0 || exponent >= POW10.length) {
+            throw new IllegalArgumentException("Unsupported scales " + sourceScale + " -> " + targetScale);
+        }
+        return mulDiv(sourceUnits, rateScaled, POW10[exponent], mode);
+    }
+
+    /**
+     * Round a double to {@code scale} decimal places, half-up. Used for values that already
+     * arrive as doubles, such as upstream prices; prefer {@link #parse} for user input.
+     */
+    public static long fromDouble(double value, int scale) {
+        if (!(value >= 0) || value > (double) Long.MAX_VALUE / POW10[scale]) {
+            throw new ArithmeticException("Value out of range: " + value);
+        }
+        return Math.round(value * POW10[scale]);
+    }
+
+    /**
+     * Nearest double to {@code units / 10^scale}; exact decimal when printed for any
+     * value with at most 15 significant digits.
+     */
+    public static double toDouble(long units, int scale) {
+        return units / (double) POW10[scale];
+    }
+
+    /**
+     * Parse a plain decimal string (optional sign, optional fraction part, no exponent)
+     * exactly into units of {@code scale}, rounding extra digits with {@code mode}.
+     *
+     * @throws NumberFormatException if the text is not a plain decimal
+     */
+    public static long parse(CharSequence text, int scale, RoundingMode mode) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '+' || text.charAt(0) == '-')) {
+            negative = text.charAt(0) == '-';
+            i++;
+            if (negative) {
+                // Round the magnitude, so directed modes flip
+                mode = mode == RoundingMode.FLOOR ? RoundingMode.CEILING
+                        : mode == RoundingMode.CEILING ? RoundingMode.FLOOR : mode;
+            }
+        }
+        long units = 0;
+        int fractionDigits = -1;
+        boolean anyDigit = false;
+        boolean discardedNonZero = false;
+        int firstDiscarded = -1;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (fractionDigits >= 0) {
+                    throw new NumberFormatException("Invalid amount: " + text);
+                }
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid amount: " + text);
+            }
+            anyDigit = true;
+            int digit = c - '0';
+            if (fractionDigits >= scale) {
+                if (firstDiscarded < 0) {
+                    firstDiscarded = digit;
+                } else if (digit != 0) {
+                    discardedNonZero = true;
+                }
+                continue;
+            }
+            units = Math.addExact(Math.multiplyExact(units, 10L), digit);
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+        int present = Math.max(fractionDigits, 0);
+        if (present < scale) {
+            units = Math.multiplyExact(units, POW10[scale - present]);
+        }
+        if (firstDiscarded > 0 || discardedNonZero) {
+            int halfComparison = firstDiscarded != 5 ? Integer.compare(firstDiscarded, 5) : (discardedNonZero ? 1 : 0);
+            if (roundUp(units, halfComparison, mode)) {
+                units = Math.addExact(units, 1);
+            }
+        }
+        return negative ? -units : units;
+    }
+
+    /**
+     * {@code round(a * b / divisor)} computed exactly through a 128-bit product.
+     */
+    public static long mulDiv(long a, long b, long divisor, RoundingMode mode) {
+        if (a < 0 || b < 0 || divisor <= 0) {
+            throw new ArithmeticException("mulDiv requires non-negative operands and a positive divisor");
+        }
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        long quotient;
+        long remainder;
+        if (hi == 0 && lo >= 0) {
+            // Fast path: the product fits in a signed long
+            quotient = lo / divisor;
+            remainder = lo - quotient * divisor;
+        } else {
+            // The product is below 2^126, so this shift is exact; it checks quotient < 2^63
+            if ((hi << 1 | lo >>> 63) >= divisor) {
+                throw new ArithmeticException("long overflow");
+            }
+            quotient = divideUnsigned128(hi, lo, divisor);
+            remainder = lo - quotient * divisor;
+        }
+        if (remainder != 0 && roundUp(quotient, Long.compare(remainder, divisor - remainder), mode)) {
+            quotient = Math.addExact(quotient, 1);
+        }
+        return quotient;
+    }
+
+    /**
+     * Decide whether a truncated non-negative result with a non-zero discarded
+     * fraction must be incremented.
+     *
+     * @param halfComparison sign of (discarded fraction - one half)
+     */
+    private static boolean roundUp(long truncated, int halfComparison, RoundingMode mode) {
+        return switch (mode) {
+            case UP, CEILING -> true;
+            case DOWN, FLOOR -> false;
+            case HALF_UP -> halfComparison >= 0;
+            case HALF_DOWN -> halfComparison > 0;
+            case HALF_EVEN -> halfComparison > 0 || (halfComparison == 0 && (truncated & 1) == 1);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    }
+
+    /**
+     * Unsigned division of the 128-bit value {@code (u1, u0)} by {@code v}, requiring
+     * {@code u1 < v} so the quotient fits in 64 bits (Hacker's Delight, divlu).
+     */
+    private static long divideUnsigned128(long u1, long u0, long v) {
+        final long b = 1L << 32;
+        int s = Long.numberOfLeadingZeros(v);
+        v <<= s;
+        long vn1 = v >>> 32;
+        long vn0 = v & 0xFFFFFFFFL;
+
+        long un32 = (u1 << s) | (s == 0 ? 0 : u0 >>> (64 - s));
+        long un10 = u0 << s;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & 0xFFFFFFFFL;
+
+        long q1 = Long.divideUnsigned(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (q1 >= b || Long.compareUnsigned(q1 * vn0, b * rhat + un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (rhat >= b) {
+                break;
+            }
+        }
+
+        long un21 = un32 * b + un1 - q1 * v;
+        long q0 = Long.divideUnsigned(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (q0 >= b || Long.compareUnsigned(q0 * vn0, b * rhat + un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (rhat >= b) {
+                break;
+            }
+        }
+        return q1 * b + q0;
+    }
+}
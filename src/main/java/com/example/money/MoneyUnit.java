@@ -0,0 +1,25 @@
+package com.example.money;
+
+/**
+ * Currencies handled by the fixed-point engine and the number of decimal places
+ * of their smallest unit (satoshis for BTC, cents for fiat).
+ */
+public enum MoneyUnit {
+    BTC(8),
+    USD(2),
+    EUR(2);
+
+    private final int scale;
+
+    MoneyUnit(int scale) {
+        this.scale = scale;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public static MoneyUnit of(String code) {
+        return valueOf(code.toUpperCase());
+    }
+}
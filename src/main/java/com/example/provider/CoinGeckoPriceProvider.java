@@ -0,0 +1,63 @@
+package com.example.provider;
+
+import com.example.jfr.UpstreamFetchEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.uri.UriBuilder;
+import jakarta.inject.Singleton;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+
+@Singleton
+@Requires(property = "app.providers.coingecko.enabled", value = "true", defaultValue = "true")
+public class CoinGeckoPriceProvider implements PriceProvider {
+
+    private final HttpClient httpClient;
+
+    public CoinGeckoPriceProvider(@Client("https://api.coingecko.com") HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public String name() {
+        return "coingecko";
+    }
+
+    /**
+     * Fetch BTC prices in USD and EUR from CoinGecko API.
+     */
+    @Override
+    public PriceQuote fetch() {
+        URI uri = UriBuilder.of("/api/v3/simple/price")
+                .queryParam("ids", "bitcoin")
+                .queryParam("vs_currencies", "usd,eur")
+                .build();
+        HttpRequest<?> request = HttpRequest.GET(uri);
+        UpstreamFetchEvent event = UpstreamFetchEvent.start(name(), "BTC/USD,BTC/EUR");
+        try {
+            HttpResponse<Map> httpResponse = httpClient.toBlocking().exchange(request, Map.class);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> response = httpResponse.getBody().orElse(Map.of());
+
+            if (!response.containsKey("bitcoin")) {
+                throw new IllegalStateException("CoinGecko response has no bitcoin entry");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> bitcoinData = (Map<String, Object>) response.get("bitcoin");
+            PriceQuote quote = new PriceQuote(name(),
+                    ((Number) bitcoinData.get("usd")).doubleValue(),
+                    ((Number) bitcoinData.get("eur")).doubleValue(),
+                    Instant.now());
+            event.finish("success", httpResponse.getContentLength());
+            return quote;
+        } catch (RuntimeException e) {
+            event.finish("error", -1);
+            throw e;
+        }
+    }
+}
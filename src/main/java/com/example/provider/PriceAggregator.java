@@ -0,0 +1,122 @@
+package com.example.provider;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries every {@link PriceProvider} in parallel on virtual threads and returns the
+ * per-currency median as soon as a quorum of valid quotes has arrived. Providers still
+ * running at that point, or at the deadline, are cancelled, so a refresh takes as long as
+ * the fastest quorum rather than the slowest upstream.
+ */
+@Singleton
+public class PriceAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PriceAggregator.class);
+
+    private final List<PriceProvider> providers;
+    private final int quorum;
+    private final Duration deadline;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PriceAggregator(List<PriceProvider> providers,
+                           @Value("${app.providers.quorum:1}") int quorum,
+                           @Value("${app.providers.deadline:5s}") Duration deadline) {
+        this.providers = List.copyOf(providers);
+        // Silently lowering the quorum would drop the protection against a single bad quote
+        if (!providers.isEmpty() && quorum > providers.size()) {
+            throw new IllegalStateException("app.providers.quorum is " + quorum + " but only "
+                    + providers.size() + " price provider(s) are enabled");
+        }
+        this.quorum = Math.max(1, quorum);
+        this.deadline = deadline;
+    }
+
+    public Optional<PriceQuote> fetch() {
+        if (providers.isEmpty()) {
+            LOG.warn("No price providers configured");
+            return Optional.empty();
+        }
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        CompletionService<PriceQuote> completion = new ExecutorCompletionService<>(executor);
+        List<Future<PriceQuote>> futures = new ArrayList<>(providers.size());
+        for (PriceProvider provider : providers) {
+            futures.add(completion.submit(() -> {
+                try {
+                    return provider.fetch();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Price provider " + provider.name() + " failed", e);
+                }
+            }));
+        }
+
+        List<PriceQuote> quotes = new ArrayList<>(quorum);
+        int pending = providers.size();
+        try {
+            while (quotes.size() < quorum && pending > 0) {
+                long remaining = deadlineNanos - System.nanoTime();
+                Future<PriceQuote> done = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (done == null) {
+                    LOG.warn("Price quorum deadline of {}ms reached with {}/{} quotes",
+                            deadline.toMillis(), quotes.size(), quorum);
+                    break;
+                }
+                pending--;
+                try {
+                    PriceQuote quote = done.get();
+                    if (quote != null && quote.isValid()) {
+                        quotes.add(quote);
+                    } else {
+                        LOG.warn("Discarding invalid price quote {}", quote);
+                    }
+                } catch (ExecutionException e) {
+                    LOG.warn(e.getCause().getMessage(), e.getCause().getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (quotes.size() < quorum) {
+            return Optional.empty();
+        }
+        return Optional.of(median(quotes));
+    }
+
+    static PriceQuote median(List<PriceQuote> quotes) {
+        double[] usd = quotes.stream().mapToDouble(PriceQuote::btcUsd).toArray();
+        double[] eur = quotes.stream().mapToDouble(PriceQuote::btcEur).toArray();
+        String source = quotes.size() == 1 ? quotes.get(0).provider() : "median(" + quotes.size() + ")";
+        return new PriceQuote(source, median(usd), median(eur), Instant.now());
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.provider;
+
+/**
+ * Source of BTC/USD and BTC/EUR prices. Every bean implementing this is queried in
+ * parallel by {@link PriceAggregator}; implementations may block.
+ */
+public interface PriceProvider {
+
+    /**
+     * Short identifier used in logs
+     */
+    String name();
+
+    PriceQuote fetch() throws Exception;
+}
@@ -0,0 +1,13 @@
+package com.example.provider;
+
+import java.time.Instant;
+
+/**
+ * BTC prices reported by one provider, or the aggregate of several.
+ */
+public record PriceQuote(String provider, double btcUsd, double btcEur, Instant fetchedAt) {
+
+    public boolean isValid() {
+        return btcUsd > 0 && btcEur > 0 && Double.isFinite(btcUsd) && Double.isFinite(btcEur);
+    }
+}
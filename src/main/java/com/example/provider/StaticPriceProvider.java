@@ -0,0 +1,34 @@
+package com.example.provider;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+
+/**
+ * Fixed prices from configuration, for local runs without network access.
+ */
+@Singleton
+@Requires(property = "app.providers.static.enabled", value = "true")
+public class StaticPriceProvider implements PriceProvider {
+
+    private final double btcUsd;
+    private final double btcEur;
+
+    public StaticPriceProvider(@Value("${app.providers.static.btc-usd:100000}") double btcUsd,
+                               @Value("${app.providers.static.btc-eur:90000}") double btcEur) {
+        this.btcUsd = btcUsd;
+        this.btcEur = btcEur;
+    }
+
+    @Override
+    public String name() {
+        return "static";
+    }
+
+    @Override
+    public PriceQuote fetch() {
+        return new PriceQuote(name(), btcUsd, btcEur, Instant.now());
+    }
+}
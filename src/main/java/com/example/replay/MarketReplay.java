@@ -0,0 +1,159 @@
+package com.example.replay;
+
+import com.example.history.RateHistoryReader;
+import com.example.importer.HistoryFileParser;
+import com.example.importer.RateColumns;
+import com.example.jobs.RefreshPipeline;
+import com.example.provider.PriceQuote;
+import com.example.repository.PairRateRepository;
+import com.example.service.LeaderLeaseService;
+import com.example.service.RateService;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds recorded ticks, from a history file or the rate_history table, through the same
+ * {@link RefreshPipeline} as the live refresh, with the recorded spacing divided by
+ * {@code app.replay.speedup} (0 replays as fast as possible).
+ * <p>
+ * Ticks are shifted to start after the newest stored point so they never collide with
+ * existing history. Everything is written to the datasource, so the replay refuses to run
+ * unless that datasource is the one named by {@code app.replay.datasource-url}, which the
+ * replay environment points it at. Alerts are not evaluated, so recorded moves never fire
+ * real subscriptions. The HTTP server keeps serving during the replay for read-side load.
+ */
+@Singleton
+@Requires(env = "replay")
+public class MarketReplay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MarketReplay.class);
+
+    /**
+     * Replays the stored history instead of a file
+     */
+    public static final String TABLE_SOURCE = "table";
+
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private final RefreshPipeline pipeline;
+    private final RateService rateService;
+    private final LeaderLeaseService leaderLease;
+    private final RateHistoryReader rateHistory;
+    private final PairRateRepository pairRates;
+    private final double speedup;
+    private final String replayDatasourceUrl;
+    private final String datasourceUrl;
+
+    public MarketReplay(RefreshPipeline pipeline,
+                        RateService rateService,
+                        LeaderLeaseService leaderLease,
+                        RateHistoryReader rateHistory,
+                        PairRateRepository pairRates,
+                        @Value("${app.replay.speedup:1000}") double speedup,
+                        @Value("${app.replay.datasource-url:}") String replayDatasourceUrl,
+                        @Value("${datasources.default.url:}") String datasourceUrl) {
+        this.pipeline = pipeline;
+        this.rateService = rateService;
+        this.leaderLease = leaderLease;
+        this.rateHistory = rateHistory;
+        this.pairRates = pairRates;
+        this.speedup = speedup;
+        this.replayDatasourceUrl = replayDatasourceUrl;
+        this.datasourceUrl = datasourceUrl;
+    }
+
+    /**
+     * @param source path of a CSV/NDJSON history file, or {@link #TABLE_SOURCE}
+     */
+    public ReplayStats replay(String source) throws IOException {
+        // An environment variable or later property source may have pointed the datasource elsewhere
+        if (replayDatasourceUrl.isBlank() || !replayDatasourceUrl.equals(datasourceUrl)) {
+            throw new IllegalStateException("Replay writes future-dated rates; set app.replay.datasource-url to a "
+                    + "dedicated database and do not override datasources.default.url (currently " + datasourceUrl + ")");
+        }
+        RateColumns ticks = load(source);
+        ReplayStats stats = new ReplayStats();
+        if (ticks.size() == 0) {
+            LOG.warn("Nothing to replay from {}", source);
+            return stats;
+        }
+        // publishSnapshot only bumps the version for the lease owner
+        if (!leaderLease.tryAcquireLeadership()) {
+            throw new IllegalStateException("Node " + leaderLease.getNodeId()
+                    + " could not take the refresh lease; replay needs a database no live node refreshes");
+        }
+
+        long first = ticks.timestamp(0);
+        Instant newest = pairRates.findMaxTimestamp();
+        long shift = newest == null ? 0 : Math.max(0, newest.toEpochMilli() + 1 - first);
+        LOG.info("Replaying {} ticks from {} spanning {} at {}x, shifted by {}",
+                ticks.size(), source, Duration.ofMillis(ticks.timestamp(ticks.size() - 1) - first),
+                speedup > 0 ? speedup : "max", Duration.ofMillis(shift));
+
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < ticks.size(); i++) {
+            long due = wallStart + dueOffsetNanos(ticks.timestamp(i) - first);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long lag = System.nanoTime() - due;
+
+            Instant at = Instant.ofEpochMilli(ticks.timestamp(i) + shift);
+            PriceQuote quote = new PriceQuote("replay", ticks.usd(i), ticks.eur(i), at);
+            boolean success = pipeline.run(() -> {
+                rateService.storeQuote(quote, at);
+                return true;
+            }, at, stats::recordStage, true, false);
+            stats.recordTick(success, lag);
+
+            if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                LOG.info("Replayed {}/{} ticks ({} ticks/s)", i + 1, ticks.size(), rate(i + 1, wallStart));
+            }
+        }
+
+        LOG.info("Replay of {} finished: {} ticks, {} failed, {} ticks/s over {} ms",
+                source, stats.ticks(), stats.failures(), rate(stats.ticks(), wallStart), elapsedMillis(wallStart));
+        stats.summary().forEach((stage, row) -> LOG.info("  {}: {}", stage, row));
+        return stats;
+    }
+
+    private RateColumns load(String source) throws IOException {
+        if (TABLE_SOURCE.equals(source)) {
+            // Read fully before replaying, so the replay never picks up its own writes
+            RateColumns ticks = new RateColumns(1024);
+            rateHistory.forEachAfter(Instant.EPOCH, ticks::add);
+            return ticks;
+        }
+        Path path = Path.of(source);
+        RateColumns ticks = HistoryFileParser.parse(path, HistoryFileParser.Format.of(path),
+                Runtime.getRuntime().availableProcessors(), HistoryFileParser.DEFAULT_CHUNK_BYTES);
+        ticks.sortAndDeduplicate();
+        return ticks;
+    }
+
+    private long dueOffsetNanos(long recordedOffsetMillis) {
+        if (speedup <= 0) {
+            return 0;
+        }
+        return (long) (TimeUnit.MILLISECONDS.toNanos(recordedOffsetMillis) / speedup);
+    }
+
+    private static long rate(long ticks, long startNanos) {
+        return ticks * 1000L / Math.max(1, elapsedMillis(startNanos));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
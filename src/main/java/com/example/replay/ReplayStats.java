@@ -0,0 +1,99 @@
+package com.example.replay;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durations collected during a replay: one series per refresh stage plus the schedule lag,
+ * i.e. how far each tick started behind its sped-up due time.
+ * Not thread-safe; the replay drives the pipeline from a single thread.
+ */
+public final class ReplayStats {
+
+    public static final String SCHEDULE_LAG = "schedule-lag";
+
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private long ticks;
+    private long failures;
+
+    public void recordStage(String stage, long nanos) {
+        series.computeIfAbsent(stage, name -> new Series()).add(nanos);
+    }
+
+    public void recordTick(boolean success, long lagNanos) {
+        ticks++;
+        if (!success) {
+            failures++;
+        }
+        recordStage(SCHEDULE_LAG, lagNanos);
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * Nearest-rank percentile of a series in nanoseconds, or 0 if nothing was recorded
+     *
+     * @param percentile between 0 and 100
+     */
+    public long percentile(String stage, double percentile) {
+        Series values = series.get(stage);
+        return values == null ? 0 : values.percentile(percentile);
+    }
+
+    /**
+     * Per-series count, mean, p50, p99 and max in milliseconds, in recording order
+     */
+    public Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        series.forEach((name, values) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", values.size);
+            row.put("mean_ms", millis(values.total / Math.max(1, values.size)));
+            row.put("p50_ms", millis(values.percentile(50)));
+            row.put("p99_ms", millis(values.percentile(99)));
+            row.put("max_ms", millis(values.percentile(100)));
+            summary.put(name, row);
+        });
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Series {
+        private long[] values = new long[1024];
+        private int size;
+        private long total;
+        private boolean sorted = true;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            total += nanos;
+            sorted = false;
+        }
+
+        long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * size);
+            return values[Math.min(size, Math.max(1, rank)) - 1];
+        }
+    }
+}
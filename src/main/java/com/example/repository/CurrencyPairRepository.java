@@ -0,0 +1,14 @@
+package com.example.repository;
+
+import com.example.entity.CurrencyPair;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+@Repository
+@RepositoryEvents
+public interface CurrencyPairRepository extends CrudRepository<CurrencyPair, Short> {
+    Optional<CurrencyPair> findByBaseAndQuote(String base, String quote);
+}
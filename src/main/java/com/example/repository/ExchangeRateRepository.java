@@ -1,12 +1,14 @@
 package com.example.repository;
 
 import com.example.entity.ExchangeRate;
+import com.example.jfr.RepositoryEvents;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 @Repository
+@RepositoryEvents
 public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
     Optional<ExchangeRate> findByFromCurrencyAndToCurrency(String fromCurrency, String toCurrency);
 }
@@ -0,0 +1,39 @@
+package com.example.repository;
+
+import com.example.entity.LeaderLease;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.time.Instant;
+
+@Repository
+@RepositoryEvents
+public interface LeaderLeaseRepository extends CrudRepository<LeaderLease, String> {
+
+    /**
+     * Atomically renew the lease if we already own it, or take it over if it has expired.
+     * Returns the number of rows updated: 1 means the caller holds the lease.
+     */
+    @Query("UPDATE LeaderLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.owner IS NULL OR l.expiresAt < :now)")
+    int tryAcquire(String name, String owner, Instant expiresAt, Instant now);
+
+    /**
+     * Give the lease up early, e.g. on shutdown, so another node can take over immediately
+     */
+    @Query("UPDATE LeaderLease l SET l.owner = NULL WHERE l.name = :name AND l.owner = :owner")
+    int release(String name, String owner);
+
+    /**
+     * Bump the snapshot version, only if the caller still owns the lease
+     */
+    @Query("UPDATE LeaderLease l SET l.snapshotVersion = l.snapshotVersion + 1 " +
+           "WHERE l.name = :name AND l.owner = :owner")
+    int incrementSnapshotVersion(String name, String owner);
+
+    @Nullable
+    Long findSnapshotVersionByName(String name);
+}
@@ -0,0 +1,66 @@
+package com.example.repository;
+
+import com.example.entity.PairRate;
+import com.example.entity.PairRateId;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@RepositoryEvents
+public interface PairRateRepository extends CrudRepository<PairRate, PairRateId> {
+
+    /**
+     * All points newer than {@code since}, in time order
+     */
+    @Query("SELECT r FROM PairRate r WHERE r.id.timestamp > :since ORDER BY r.id.timestamp ASC, r.id.pairId ASC")
+    List<PairRate> findAfter(Instant since);
+
+    /**
+     * Distinct observation times after {@code after}, oldest first; the keyset for history
+     * pages, limited through {@code pageable} rather than an OFFSET
+     */
+    @Query("SELECT DISTINCT r.id.timestamp FROM PairRate r WHERE r.id.timestamp > :after ORDER BY r.id.timestamp ASC")
+    List<Instant> findTimestampsAfter(Instant after, Pageable pageable);
+
+    /**
+     * Points in the range (after, until], in time order
+     */
+    @Query("SELECT r FROM PairRate r WHERE r.id.timestamp > :after AND r.id.timestamp <= :until " +
+           "ORDER BY r.id.timestamp ASC, r.id.pairId ASC")
+    List<PairRate> findBetween(Instant after, Instant until);
+
+    /**
+     * Pairs that already have a point at {@code timestamp}, so a batch of points for one
+     * timestamp can be split into inserts and updates with a single query
+     */
+    @Query("SELECT r.id.pairId FROM PairRate r WHERE r.id.timestamp = :timestamp")
+    List<Short> findPairIdsAt(Instant timestamp);
+
+    /**
+     * Number of distinct observation times, i.e. history entries
+     */
+    @Query("SELECT COUNT(DISTINCT r.id.timestamp) FROM PairRate r")
+    long countTimestamps();
+
+    /**
+     * Newest point on the primary, used to estimate replica lag
+     */
+    @Nullable
+    @Query("SELECT MAX(r.id.timestamp) FROM PairRate r")
+    Instant findMaxTimestamp();
+
+    /**
+     * Newest point of one pair, read from the end of its (pair_id, ts) primary key range;
+     * used for the current rates and as the starting point for incremental migration
+     */
+    @Nullable
+    @Query("SELECT MAX(r.id.timestamp) FROM PairRate r WHERE r.id.pairId = :pairId")
+    Instant findMaxTimestampByPairId(short pairId);
+}
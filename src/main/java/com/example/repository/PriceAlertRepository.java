@@ -0,0 +1,31 @@
+package com.example.repository;
+
+import com.example.entity.PriceAlert;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RepositoryEvents
+public interface PriceAlertRepository extends CrudRepository<PriceAlert, Long> {
+
+    /**
+     * Active alerts created after {@code id}, for loading the index in id-ordered pages
+     */
+    List<PriceAlert> findByActiveTrueAndIdGreaterThan(Long id, Pageable pageable);
+
+    List<PriceAlert> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Deactivate fired alerts; alerts already triggered or deleted are left alone
+     */
+    @Query("UPDATE PriceAlert a SET a.active = false, a.triggeredAt = :triggeredAt " +
+           "WHERE a.id IN (:ids) AND a.active = true")
+    int markTriggered(Collection<Long> ids, Instant triggeredAt);
+}
@@ -1,10 +1,13 @@
 package com.example.repository;
 import com.example.entity.RateHistory;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 import java.time.Instant;
 import java.util.List;
 @Repository
+@RepositoryEvents
 public interface RateHistoryRepository extends CrudRepository<RateHistory, Long> {
     /**
      * Find all rates from the last 24 hours, ordered by timestamp ascending
@@ -20,4 +23,10 @@ public interface RateHistoryRepository extends CrudRepository<RateHistory, Long>
      * Count records to check if history exists
      */
     long count();
+
+    /**
+     * Newest history timestamp on the primary, used to estimate replica lag
+     */
+    @Nullable
+    Instant findMaxTimestamp();
 }
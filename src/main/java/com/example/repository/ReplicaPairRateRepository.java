@@ -0,0 +1,49 @@
+package com.example.repository;
+
+import com.example.entity.PairRate;
+import com.example.entity.PairRateId;
+import com.example.jfr.RepositoryEvents;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.GenericRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of pair_rate served by the "replica" datasource.
+ * Only query methods are exposed so writes cannot accidentally land on the replica.
+ */
+@Repository("replica")
+@RepositoryEvents
+public interface ReplicaPairRateRepository extends GenericRepository<PairRate, PairRateId> {
+
+    @Query("SELECT r FROM PairRate r WHERE r.id.timestamp > :since ORDER BY r.id.timestamp ASC, r.id.pairId ASC")
+    List<PairRate> findAfter(Instant since);
+
+    @Query("SELECT DISTINCT r.id.timestamp FROM PairRate r WHERE r.id.timestamp > :after ORDER BY r.id.timestamp ASC")
+    List<Instant> findTimestampsAfter(Instant after, Pageable pageable);
+
+    @Query("SELECT r FROM PairRate r WHERE r.id.timestamp > :after AND r.id.timestamp <= :until " +
+           "ORDER BY r.id.timestamp ASC, r.id.pairId ASC")
+    List<PairRate> findBetween(Instant after, Instant until);
+
+    Optional<PairRate> findById(PairRateId id);
+
+    @Nullable
+    @Query("SELECT MAX(r.id.timestamp) FROM PairRate r WHERE r.id.pairId = :pairId")
+    Instant findMaxTimestampByPairId(short pairId);
+
+    @Query("SELECT COUNT(DISTINCT r.id.timestamp) FROM PairRate r")
+    long countTimestamps();
+
+    /**
+     * Newest timestamp visible on the replica, used to estimate replication lag
+     */
+    @Nullable
+    @Query("SELECT MAX(r.id.timestamp) FROM PairRate r")
+    Instant findMaxTimestamp();
+}
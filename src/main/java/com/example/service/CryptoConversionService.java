@@ -1,7 +1,12 @@
 package com.example.service;
 
 import com.example.dto.ConversionResponse;
+import com.example.jfr.UpstreamFetchEvent;
+import com.example.money.FixedPoint;
+import com.example.money.MoneyUnit;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.http.uri.UriBuilder;
@@ -9,6 +14,8 @@ import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.net.URI;
 import java.util.Map;
 
@@ -18,9 +25,12 @@ public class CryptoConversionService {
     private static final Logger LOG = LoggerFactory.getLogger(CryptoConversionService.class);
 
     private final HttpClient httpClient;
+    private final RoundingMode roundingMode;
 
-    public CryptoConversionService(@Client("https://api.coingecko.com") HttpClient httpClient) {
+    public CryptoConversionService(@Client("https://api.coingecko.com") HttpClient httpClient,
+                                   @Value("${app.money.rounding-mode:HALF_UP}") RoundingMode roundingMode) {
         this.httpClient = httpClient;
+        this.roundingMode = roundingMode;
     }
 
     public ConversionResponse convert(double amount, String fromCurrency, String toCurrency) {
@@ -43,6 +53,10 @@ public class CryptoConversionService {
     }
 
     private ConversionResponse convertFromBTC(double amount, String toCurrency) {
+        MoneyUnit target = targetUnit(toCurrency);
+        if (target == null) {
+            return ConversionResponse.failure("Unsupported currency: " + toCurrency.toUpperCase());
+        }
         try {
             // CoinGecko API: Get BTC price in target currency
             URI uri = UriBuilder.of("/api/v3/simple/price")
@@ -51,25 +65,29 @@ public class CryptoConversionService {
                     .build();
 
             HttpRequest<?> request = HttpRequest.GET(uri);
-            Map<String, Object> response = httpClient.toBlocking().retrieve(request, Map.class);
+            UpstreamFetchEvent event = UpstreamFetchEvent.start("coingecko", "BTC/" + toCurrency.toUpperCase());
+            Map<String, Object> response;
+            try {
+                HttpResponse<Map> httpResponse = httpClient.toBlocking().exchange(request, Map.class);
+                response = httpResponse.getBody().orElse(Map.of());
+                event.finish("success", httpResponse.getContentLength());
+            } catch (RuntimeException e) {
+                event.finish("error", -1);
+                throw e;
+            }
 
             if (response.containsKey("bitcoin")) {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> bitcoinData = (Map<String, Object>) response.get("bitcoin");
                 Object rateValue = bitcoinData.get(toCurrency.toLowerCase());
-                Double rate = null;
-
-                if (rateValue instanceof Double) {
-                    rate = (Double) rateValue;
-                } else if (rateValue instanceof Integer) {
-                    rate = ((Integer) rateValue).doubleValue();
-                } else if (rateValue instanceof Number) {
-                    rate = ((Number) rateValue).doubleValue();
-                }
 
-                if (rate != null) {
-                    double convertedAmount = amount * rate;
-                    return ConversionResponse.success(convertedAmount, rate, "BTC", toCurrency.toUpperCase(), amount);
+                if (rateValue instanceof Number rate) {
+                    long rateUnits = exactUnits(rate, FixedPoint.RATE_DIGITS);
+                    long convertedUnits = FixedPoint.convert(exactUnits(amount, MoneyUnit.BTC.getScale()),
+                            MoneyUnit.BTC, rateUnits, target, roundingMode);
+                    return ConversionResponse.success(convertedUnits, target.getScale(),
+                            FixedPoint.toDouble(rateUnits, FixedPoint.RATE_DIGITS), "BTC",
+                            toCurrency.toUpperCase(), amount);
                 }
             }
 
@@ -92,4 +110,30 @@ public class CryptoConversionService {
             return ConversionResponse.failure("Conversion failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Parse a number through its shortest decimal form, so an upstream price of 87265.12
+     * becomes exactly 8726512000000 rate units rather than the nearest binary double.
+     */
+    private long exactUnits(Number value, int scale) {
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString()
+                : new BigDecimal(value.toString()).toPlainString();
+        long units = FixedPoint.parse(text, scale, roundingMode);
+        if (units < 0) {
+            throw new ArithmeticException("Value out of range: " + text);
+        }
+        return units;
+    }
+
+    /**
+     * Target currency as a {@link MoneyUnit}, or {@code null} when its minor unit is unknown;
+     * guessing cents would misprice zero- and three-decimal currencies such as JPY or KWD.
+     */
+    private static MoneyUnit targetUnit(String currency) {
+        try {
+            return MoneyUnit.of(currency);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.example.service;
+
+import java.time.Instant;
+
+/**
+ * Latest known rate of one pair, e.g. base BTC, quote USD.
+ */
+public record CurrentRate(String base, String quote, double rate, Instant updatedAt) {
+}
@@ -0,0 +1,12 @@
+package com.example.service;
+
+import com.example.entity.PairRate;
+
+import java.util.List;
+
+/**
+ * One keyset page of the time series: the points of up to {@code limit} consecutive
+ * timestamps, and whether newer timestamps follow.
+ */
+public record HistoryPage(List<PairRate> rows, boolean hasMore) {
+}
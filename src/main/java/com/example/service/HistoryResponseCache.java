@@ -0,0 +1,112 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of serialized /api/history/rate-history responses, keyed by hours.
+ * The whole cache is dropped whenever a new snapshot is published, i.e. after the refresh
+ * job writes a history row. Between refreshes the oldest points of a window may be up to
+ * one refresh interval past the cutoff.
+ */
+@Singleton
+public class HistoryResponseCache {
+
+    private final int maxEntries;
+    private final Map<Integer, String> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Bumped on invalidation so a response computed from pre-refresh data is not stored afterwards
+     */
+    private long generation;
+
+    public HistoryResponseCache(@Value("${app.history-cache.max-entries:32}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                if (size() > HistoryResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * A freshly loaded response, and whether it may be stored
+     */
+    public record Loaded(String body, boolean cacheable) {
+    }
+
+    /**
+     * Return the cached body for {@code hours}, computing and storing it on a miss.
+     */
+    public String get(int hours, Supplier<String> loader) {
+        return load(hours, () -> new Loaded(loader.get(), true));
+    }
+
+    /**
+     * Like {@link #get(int, Supplier)}, but responses the loader marks as not cacheable
+     * (e.g. "no history yet") are returned without being stored.
+     */
+    public String load(int hours, Supplier<Loaded> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            String cached = entries.get(hours);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        Loaded loaded = loader.get();
+        if (loaded.cacheable()) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(hours, loaded.body());
+                }
+            }
+        }
+        return loaded.body();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        invalidations.incrementAndGet();
+    }
+
+    @EventListener
+    void onSnapshotChanged(RateSnapshotChangedEvent event) {
+        invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return Map.of(
+            "size", size,
+            "max_entries", maxEntries,
+            "hits", hits.get(),
+            "misses", misses.get(),
+            "evictions", evictions.get(),
+            "invalidations", invalidations.get()
+        );
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.service;
+
+import com.example.entity.LeaderLease;
+import com.example.repository.LeaderLeaseRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Database-backed leader election for the rate refresh.
+ * Every node heartbeats against a single leader_lease row; the owner renews it, and any
+ * node may take it over once it expires. Followers poll the snapshot version column and
+ * raise {@link RateSnapshotChangedEvent} when the leader has published new rates.
+ * Absent in the one-shot history import, which must never take the production lease.
+ */
+@Singleton
+@Requires(notEnv = "import")
+public class LeaderLeaseService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaderLeaseService.class);
+
+    static final String LEASE_NAME = "rate-refresh";
+
+    private final LeaderLeaseRepository repository;
+    private final ApplicationEventPublisher<RateSnapshotChangedEvent> eventPublisher;
+    private final String nodeId;
+    private final Duration leaseDuration;
+
+    private volatile boolean leader;
+    private volatile Instant leaseExpiresAt = Instant.EPOCH;
+    private volatile long lastSeenVersion = -1;
+
+    public LeaderLeaseService(LeaderLeaseRepository repository,
+                              ApplicationEventPublisher<RateSnapshotChangedEvent> eventPublisher,
+                              @Value("${app.cluster.node-id:}") String nodeId,
+                              @Value("${app.cluster.lease-duration:30s}") Duration leaseDuration) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseDuration = leaseDuration;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node currently holds an unexpired lease, as of the last heartbeat.
+     */
+    public boolean isLeader() {
+        return leader && Instant.now().isBefore(leaseExpiresAt);
+    }
+
+    /**
+     * Renew or take over the lease. Returns true if this node is the leader afterwards.
+     */
+    public boolean tryAcquireLeadership() {
+        return tryAcquireLeadership(Instant.now());
+    }
+
+    /**
+     * Heartbeat as of {@code now}; lets tests drive lease expiry without sleeping
+     */
+    boolean tryAcquireLeadership(Instant now) {
+        try {
+            ensureLeaseRow();
+            Instant expiresAt = now.plus(leaseDuration);
+            boolean acquired = repository.tryAcquire(LEASE_NAME, nodeId, expiresAt, now) == 1;
+            if (acquired != leader) {
+                LOG.info(acquired ? "Node {} became rate refresh leader" : "Node {} lost rate refresh leadership", nodeId);
+            }
+            leader = acquired;
+            leaseExpiresAt = acquired ? expiresAt : Instant.EPOCH;
+            return acquired;
+        } catch (Exception e) {
+            LOG.error("Leader lease heartbeat failed", e);
+            leader = false;
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelay = "${app.cluster.heartbeat-interval:10s}")
+    void heartbeat() {
+        tryAcquireLeadership();
+    }
+
+    /**
+     * Called by the leader after it has persisted new rates.
+     */
+    public void publishSnapshot() {
+        if (repository.incrementSnapshotVersion(LEASE_NAME, nodeId) == 1) {
+            pollSnapshotVersion();
+        } else {
+            LOG.warn("Node {} no longer owns the lease, snapshot version not bumped", nodeId);
+        }
+    }
+
+    /**
+     * Cheap single-column read; only raises an event when the version actually moved.
+     */
+    @Scheduled(fixedDelay = "${app.cluster.snapshot-poll-interval:5s}")
+    public void pollSnapshotVersion() {
+        try {
+            Long version = repository.findSnapshotVersionByName(LEASE_NAME);
+            if (version != null && version != lastSeenVersion) {
+                lastSeenVersion = version;
+                eventPublisher.publishEvent(new RateSnapshotChangedEvent(version));
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to poll snapshot version", e);
+        }
+    }
+
+    public long getLastSeenVersion() {
+        return lastSeenVersion;
+    }
+
+    @PreDestroy
+    void releaseOnShutdown() {
+        if (leader) {
+            try {
+                repository.release(LEASE_NAME, nodeId);
+            } catch (Exception e) {
+                LOG.warn("Failed to release leader lease", e);
+            }
+            leader = false;
+        }
+    }
+
+    private void ensureLeaseRow() {
+        if (!repository.existsById(LEASE_NAME)) {
+            try {
+                repository.save(new LeaderLease(LEASE_NAME, null, Instant.EPOCH, 0));
+            } catch (Exception e) {
+                // Another node inserted the row first
+                LOG.debug("Lease row already created by another node");
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.service;
+
+import com.example.entity.CurrencyPair;
+import com.example.repository.CurrencyPairRepository;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interning of currency pairs to their small database ids. New pairs are
+ * inserted on first use, so tracking another pair needs no schema change. Lookups are
+ * answered from memory; the table is read once on first use, again when a follower sees a
+ * new snapshot (the leader may have added pairs), and by id when an unknown id shows up.
+ */
+@Singleton
+public class PairDictionary {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PairDictionary.class);
+
+    private final CurrencyPairRepository repository;
+    private final Map<String, Short> idsByCode = new ConcurrentHashMap<>();
+    private final Map<Short, CurrencyPair> pairsById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public PairDictionary(CurrencyPairRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Id of the pair, creating it if it does not exist yet.
+     */
+    public short idOf(String base, String quote) {
+        String code = code(base, quote);
+        Short id = idsByCode.get(code);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idsByCode.get(code);
+            if (id != null) {
+                return id;
+            }
+            String baseUpper = base.toUpperCase(Locale.ROOT);
+            String quoteUpper = quote.toUpperCase(Locale.ROOT);
+            CurrencyPair pair = repository.findByBaseAndQuote(baseUpper, quoteUpper).orElse(null);
+            if (pair == null) {
+                try {
+                    pair = repository.save(new CurrencyPair(baseUpper, quoteUpper));
+                    LOG.info("Tracking new currency pair {} (id {})", code, pair.getId());
+                } catch (RuntimeException e) {
+                    // Another node inserted it first
+                    pair = repository.findByBaseAndQuote(baseUpper, quoteUpper).orElseThrow(() -> e);
+                }
+            }
+            remember(pair);
+            return pair.getId();
+        }
+    }
+
+    /**
+     * Id of an existing pair, without creating it.
+     */
+    public Optional<Short> findId(String base, String quote) {
+        Short id = idsByCode.get(code(base, quote));
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Optional<CurrencyPair> pair = repository.findByBaseAndQuote(
+                base.toUpperCase(Locale.ROOT), quote.toUpperCase(Locale.ROOT));
+        pair.ifPresent(this::remember);
+        return pair.map(CurrencyPair::getId);
+    }
+
+    /**
+     * Pair for an id read from pair_rate; an unknown id is loaded from the database.
+     */
+    public CurrencyPair get(short id) {
+        CurrencyPair pair = pairsById.get(id);
+        if (pair == null) {
+            pair = repository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Unknown currency pair id " + id));
+            remember(pair);
+        }
+        return pair;
+    }
+
+    /**
+     * Ids of all pairs known to this node, in id order.
+     */
+    public List<Short> ids() {
+        if (!loaded) {
+            reload();
+        }
+        return pairsById.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Pick up pairs created by the leader on another node.
+     */
+    @EventListener
+    void onSnapshotChanged(RateSnapshotChangedEvent event) {
+        reload();
+    }
+
+    private void reload() {
+        repository.findAll().forEach(this::remember);
+        loaded = true;
+    }
+
+    /**
+     * Canonical pair code, e.g. {@code BTC/USD}
+     */
+    public static String code(String base, String quote) {
+        return base.toUpperCase(Locale.ROOT) + "/" + quote.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * JSON field name used by the history API, e.g. {@code btc_usd}
+     */
+    public static String fieldName(CurrencyPair pair) {
+        return pair.getBase().toLowerCase(Locale.ROOT) + "_" + pair.getQuote().toLowerCase(Locale.ROOT);
+    }
+
+    private void remember(CurrencyPair pair) {
+        pairsById.put(pair.getId(), pair);
+        idsByCode.put(code(pair.getBase(), pair.getQuote()), pair.getId());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.service;
+
+import com.example.entity.ExchangeRate;
+import com.example.entity.PairRate;
+import com.example.repository.ExchangeRateRepository;
+import com.example.repository.PairRateRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+
+/**
+ * Copies the legacy wide tables into pair_rate at startup: rate_history rows newer than the
+ * latest migrated point of each pair, and exchange_rate rows of pairs without any point yet.
+ * Idempotent, so it can stay enabled while the legacy tables are still written alongside
+ * pair_rate. Skipped in the one-shot history import mode, which writes pair_rate itself.
+ */
+@Singleton
+@Requires(notEnv = "import")
+public class PairRateMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PairRateMigration.class);
+
+    /**
+     * Copy one rate_history column into pair_rate (duplicate timestamps collapse to one point)
+     */
+    private static final String HISTORY_SQL =
+            "INSERT INTO pair_rate (pair_id, ts, rate) " +
+            "SELECT ?, h.timestamp, MAX(h.%s) FROM rate_history h WHERE h.timestamp > ? GROUP BY h.timestamp";
+
+    private final EntityManager entityManager;
+    private final PairDictionary pairs;
+    private final PairRateRepository pairRates;
+    private final ExchangeRateRepository exchangeRates;
+    private final boolean enabled;
+
+    public PairRateMigration(EntityManager entityManager,
+                             PairDictionary pairs,
+                             PairRateRepository pairRates,
+                             ExchangeRateRepository exchangeRates,
+                             @Value("${app.timeseries.migrate-on-startup:true}") boolean enabled) {
+        this.entityManager = entityManager;
+        this.pairs = pairs;
+        this.pairRates = pairRates;
+        this.exchangeRates = exchangeRates;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int copied = migrate();
+            if (copied > 0) {
+                LOG.info("Migrated {} legacy rate points into pair_rate", copied);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to migrate legacy rates into pair_rate", e);
+        }
+    }
+
+    @Transactional
+    public int migrate() {
+        int copied = copyHistoryColumn("btc_usd", pairs.idOf("BTC", "USD"))
+                + copyHistoryColumn("btc_eur", pairs.idOf("BTC", "EUR"));
+        for (ExchangeRate rate : exchangeRates.findAll()) {
+            short pairId = pairs.idOf(rate.getFromCurrency(), rate.getToCurrency());
+            if (pairRates.findMaxTimestampByPairId(pairId) == null) {
+                pairRates.save(new PairRate(pairId, rate.getUpdatedAt(), rate.getRate()));
+                copied++;
+            }
+        }
+        return copied;
+    }
+
+    private int copyHistoryColumn(String column, short pairId) {
+        Instant since = pairRates.findMaxTimestampByPairId(pairId);
+        return entityManager.createNativeQuery(HISTORY_SQL.formatted(column))
+                .setParameter(1, pairId)
+                .setParameter(2, since != null ? since : Instant.EPOCH)
+                .executeUpdate();
+    }
+}
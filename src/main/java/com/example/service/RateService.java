@@ -1,19 +1,18 @@
 package com.example.service;
 
 import com.example.entity.ExchangeRate;
+import com.example.jfr.UpstreamFetchEvent;
+import com.example.provider.PriceAggregator;
+import com.example.provider.PriceQuote;
 import com.example.repository.ExchangeRateRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.URI;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 
-import io.micronaut.http.HttpRequest;
-import io.micronaut.http.client.HttpClient;
-import io.micronaut.http.client.annotation.Client;
-import io.micronaut.http.uri.UriBuilder;
+import io.micronaut.runtime.event.annotation.EventListener;
 import jakarta.inject.Singleton;
 
 @Singleton
@@ -21,103 +20,167 @@ public class RateService {
 
     private static final Logger LOG = LoggerFactory.getLogger(RateService.class);
 
-    private final HttpClient httpClient;
+    private final PriceAggregator priceAggregator;
     private final ExchangeRateRepository repository;
+    private final ReadRoutingService readRouting;
+    private final TimeSeriesService timeSeries;
 
-    public RateService(@Client("https://api.coingecko.com") HttpClient httpClient,
-                       ExchangeRateRepository repository) {
-        this.httpClient = httpClient;
+    /**
+     * Latest BTC/USD and BTC/EUR points, reloaded whenever the cluster snapshot version changes
+     */
+    private volatile RateSnapshot snapshot;
+
+    public RateService(PriceAggregator priceAggregator,
+                       ExchangeRateRepository repository,
+                       ReadRoutingService readRouting,
+                       TimeSeriesService timeSeries) {
+        this.priceAggregator = priceAggregator;
         this.repository = repository;
+        this.readRouting = readRouting;
+        this.timeSeries = timeSeries;
     }
 
     /**
-     * Get latest BTC prices (USD and EUR) from database.
-     * This mimics the Python app's approach: store single latest price.
+     * Get latest BTC/USD price: the newest point of the pair in pair_rate.
+     * Served by the replica when it is healthy.
      */
-    public Optional<ExchangeRate> getLatestPrice() {
-        // For BTC/USD (we'll store this as the "latest" price)
-        return repository.findByFromCurrencyAndToCurrency("BTC", "USD");
+    public Optional<CurrentRate> getLatestPrice() {
+        return Optional.ofNullable(currentSnapshot().usd());
     }
 
     /**
-     * Get latest BTC/EUR price from database.
+     * Get latest BTC/EUR price.
+     * Served by the replica when it is healthy.
      */
-    public Optional<ExchangeRate> getLatestPriceEur() {
-        return repository.findByFromCurrencyAndToCurrency("BTC", "EUR");
+    public Optional<CurrentRate> getLatestPriceEur() {
+        return Optional.ofNullable(currentSnapshot().eur());
     }
 
     /**
-     * Fetch latest BTC prices from CoinGecko for USD and EUR.
-     * Store both as separate records (or just USD as primary).
+     * The leader has written new rates: reload from the primary so the
+     * snapshot cannot be populated from a replica that has not caught up yet.
      */
-    public void fetchAndStorePrices() {
+    @EventListener
+    void onSnapshotChanged(RateSnapshotChangedEvent event) {
+        RateSnapshot stored = toSnapshot(timeSeries.findCurrentRates());
+        synchronized (this) {
+            // Streamed ticks may already be newer than what was persisted
+            snapshot = cacheable(newer(snapshot, stored));
+        }
+        LOG.debug("Reloaded rate snapshot version {}", event.version());
+    }
+
+    /**
+     * Streamed rates, visible to readers before they are persisted
+     */
+    public synchronized void updateLiveRates(CurrentRate usd, CurrentRate eur) {
+        snapshot = cacheable(newer(snapshot, new RateSnapshot(usd, eur)));
+    }
+
+    private static RateSnapshot newer(RateSnapshot current, RateSnapshot candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return new RateSnapshot(newer(current.usd(), candidate.usd()), newer(current.eur(), candidate.eur()));
+    }
+
+    private static CurrentRate newer(CurrentRate current, CurrentRate candidate) {
+        if (current == null || candidate == null) {
+            return candidate == null ? current : candidate;
+        }
+        return candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate;
+    }
+
+    private RateSnapshot currentSnapshot() {
+        RateSnapshot current = snapshot;
+        if (current == null) {
+            current = toSnapshot(timeSeries.toCurrentRates(readRouting.findLatestRates()));
+            snapshot = cacheable(current);
+        }
+        return current;
+    }
+
+    private static RateSnapshot toSnapshot(Map<String, CurrentRate> rates) {
+        return new RateSnapshot(rates.get("BTC/USD"), rates.get("BTC/EUR"));
+    }
+
+    private static RateSnapshot cacheable(RateSnapshot candidate) {
+        // Keep asking the database until both rates exist
+        return candidate.usd() != null && candidate.eur() != null ? candidate : null;
+    }
+
+    private record RateSnapshot(CurrentRate usd, CurrentRate eur) {
+    }
+
+    /**
+     * Fetch latest BTC prices for USD and EUR from all configured providers
+     * (median of the fastest quorum) and store both as separate records.
+     *
+     * @return whether new prices were stored
+     */
+    public boolean fetchAndStorePrices() {
         try {
-            Map<String, Double> rates = fetchBtcPrices();
-            if (rates != null && !rates.isEmpty()) {
-                Double btcUsd = rates.get("usd");
-                Double btcEur = rates.get("eur");
-
-                if (btcUsd != null) {
-                    upsertRate("BTC", "USD", btcUsd);
-                    LOG.info("Updated BTC/USD rate: {}", btcUsd);
-                }
-                if (btcEur != null) {
-                    upsertRate("BTC", "EUR", btcEur);
-                    LOG.info("Updated BTC/EUR rate: {}", btcEur);
-                }
+            Optional<PriceQuote> quote = fetchQuote();
+            if (quote.isPresent()) {
+                storeQuote(quote.get(), Instant.now());
+                LOG.info("Updated BTC/USD rate: {} ({})", quote.get().btcUsd(), quote.get().provider());
+                LOG.info("Updated BTC/EUR rate: {} ({})", quote.get().btcEur(), quote.get().provider());
+                return true;
+            } else {
+                LOG.error("Failed to fetch BTC prices: no provider quorum");
             }
         } catch (Exception e) {
             LOG.error("Failed to fetch and store prices", e);
         }
+        return false;
     }
 
     /**
-     * Fetch BTC prices in USD and EUR from CoinGecko API.
+     * Store a quote obtained elsewhere (e.g. replayed from history) as the current rates.
      */
-    private Map<String, Double> fetchBtcPrices() {
+    public void storeQuote(PriceQuote quote, Instant updatedAt) {
+        upsertRate("BTC", "USD", quote.btcUsd(), updatedAt);
+        upsertRate("BTC", "EUR", quote.btcEur(), updatedAt);
+    }
+
+    private Optional<PriceQuote> fetchQuote() {
+        UpstreamFetchEvent event = UpstreamFetchEvent.start("aggregator", "BTC/USD,BTC/EUR");
         try {
-            URI uri = UriBuilder.of("/api/v3/simple/price")
-                    .queryParam("ids", "bitcoin")
-                    .queryParam("vs_currencies", "usd,eur")
-                    .build();
-            HttpRequest<?> request = HttpRequest.GET(uri);
-            Map<String, Object> response = httpClient.toBlocking().retrieve(request, Map.class);
-
-            if (response.containsKey("bitcoin")) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> bitcoinData = (Map<String, Object>) response.get("bitcoin");
-                return Map.of(
-                    "usd", ((Number) bitcoinData.get("usd")).doubleValue(),
-                    "eur", ((Number) bitcoinData.get("eur")).doubleValue()
-                );
-            }
-        } catch (Exception e) {
-            LOG.error("Failed to fetch BTC prices from CoinGecko", e);
+            Optional<PriceQuote> quote = priceAggregator.fetch();
+            event.finish(quote.isPresent() ? "success" : "no-quorum", -1);
+            return quote;
+        } catch (RuntimeException e) {
+            event.finish("error", -1);
+            throw e;
         }
-        return null;
     }
 
     /**
-     * Upsert a rate into database.
+     * Upsert a rate into the legacy exchange_rate table, still written alongside pair_rate.
      * Deletes existing and inserts new to avoid detached entity issues.
      */
     public void upsertRate(String from, String to, double rate) {
+        upsertRate(from, to, rate, Instant.now());
+    }
+
+    private void upsertRate(String from, String to, double rate, Instant updatedAt) {
         String fromUpper = from.toUpperCase();
         String toUpper = to.toUpperCase();
         // Delete existing to avoid detached entity issues
         repository.findByFromCurrencyAndToCurrency(fromUpper, toUpper).ifPresent(repository::delete);
         // Create and save new entity
-        ExchangeRate entity = new ExchangeRate(fromUpper, toUpper, rate, Instant.now());
+        ExchangeRate entity = new ExchangeRate(fromUpper, toUpper, rate, updatedAt);
         repository.save(entity);
     }
 
 
     /**
-     * Get current BTC rates (USD and EUR) from database as a map
+     * Get current BTC rates (USD and EUR) from database as a map.
+     * Always reads the primary so callers see rates they just wrote.
      */
     public Optional<Map<String, Double>> getCurrentRates() {
-        Optional<ExchangeRate> usd = getLatestPrice();
-        Optional<ExchangeRate> eur = getLatestPriceEur();
+        Optional<ExchangeRate> usd = repository.findByFromCurrencyAndToCurrency("BTC", "USD");
+        Optional<ExchangeRate> eur = repository.findByFromCurrencyAndToCurrency("BTC", "EUR");
 
         if (usd.isPresent() && eur.isPresent()) {
             return Optional.of(Map.of(
@@ -0,0 +1,8 @@
+package com.example.service;
+
+/**
+ * Published locally when the cluster-wide snapshot version changes,
+ * meaning the leader has written new rates.
+ */
+public record RateSnapshotChangedEvent(long version) {
+}
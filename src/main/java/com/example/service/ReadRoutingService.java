@@ -0,0 +1,105 @@
+package com.example.service;
+
+import com.example.entity.PairRate;
+import com.example.repository.PairRateRepository;
+import com.example.repository.ReplicaPairRateRepository;
+import io.micronaut.data.model.Pageable;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only queries to the replica datasource while it is within the
+ * configured lag threshold, and to the primary otherwise.
+ * Writes never go through here; they stay on the primary repositories.
+ */
+@Singleton
+public class ReadRoutingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadRoutingService.class);
+
+    private final PairRateRepository primaryRates;
+    private final ReplicaPairRateRepository replicaRates;
+    private final ReplicaLagMonitor lagMonitor;
+    private final TimeSeriesService timeSeries;
+
+    public ReadRoutingService(PairRateRepository primaryRates,
+                              ReplicaPairRateRepository replicaRates,
+                              ReplicaLagMonitor lagMonitor,
+                              TimeSeriesService timeSeries) {
+        this.primaryRates = primaryRates;
+        this.replicaRates = replicaRates;
+        this.lagMonitor = lagMonitor;
+        this.timeSeries = timeSeries;
+    }
+
+    /**
+     * Points of all pairs newer than {@code timestamp}, in time order
+     */
+    public List<PairRate> findRatesAfter(Instant timestamp) {
+        return route(() -> replicaRates.findAfter(timestamp), () -> primaryRates.findAfter(timestamp));
+    }
+
+    /**
+     * Points of the first {@code limit} timestamps after {@code after}, extended to the end of
+     * the last timestamp's millisecond: page cursors are entry ids (epoch millis) while points
+     * carry microseconds, so a page never ends between two timestamps of one millisecond.
+     * Both queries of a page run against the same datasource so the keyset and the rows agree.
+     */
+    public HistoryPage findRatePage(Instant after, int limit) {
+        return route(() -> page(replicaRates::findTimestampsAfter, replicaRates::findBetween, after, limit),
+                () -> page(primaryRates::findTimestampsAfter, primaryRates::findBetween, after, limit));
+    }
+
+    /**
+     * Number of history entries (distinct timestamps)
+     */
+    public long countHistory() {
+        return route(replicaRates::countTimestamps, primaryRates::countTimestamps);
+    }
+
+    /**
+     * Newest point of every pair
+     */
+    public List<PairRate> findLatestRates() {
+        return route(() -> timeSeries.findLatest(replicaRates::findMaxTimestampByPairId, replicaRates::findById),
+                () -> timeSeries.findLatest(primaryRates::findMaxTimestampByPairId, primaryRates::findById));
+    }
+
+    private static HistoryPage page(BiFunction<Instant, Pageable, List<Instant>> timestamps,
+                                    BiFunction<Instant, Instant, List<PairRate>> rows,
+                                    Instant after, int limit) {
+        // One extra timestamp tells whether another page follows
+        List<Instant> keys = timestamps.apply(after, Pageable.from(0, limit + 1));
+        if (keys.isEmpty()) {
+            return new HistoryPage(List.of(), false);
+        }
+        boolean hasMore = keys.size() > limit;
+        Instant until = keys.get(Math.min(keys.size(), limit) - 1);
+        if (hasMore) {
+            until = until.truncatedTo(ChronoUnit.MILLIS).plusMillis(1).minusNanos(1);
+            if (!keys.get(limit).isAfter(until)) {
+                hasMore = !timestamps.apply(until, Pageable.from(0, 1)).isEmpty();
+            }
+        }
+        return new HistoryPage(rows.apply(after, until), hasMore);
+    }
+
+    private <T> T route(Supplier<T> replicaQuery, Supplier<T> primaryQuery) {
+        if (lagMonitor.isReplicaUsable()) {
+            try {
+                return replicaQuery.get();
+            } catch (Exception e) {
+                LOG.warn("Replica query failed, retrying on primary", e);
+                lagMonitor.markReplicaFailed();
+            }
+        }
+        return primaryQuery.get();
+    }
+}
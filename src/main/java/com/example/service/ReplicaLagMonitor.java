@@ -0,0 +1,92 @@
+package com.example.service;
+
+import com.example.repository.PairRateRepository;
+import com.example.repository.ReplicaPairRateRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically compares the newest pair_rate point on the primary and the replica.
+ * When the replica falls behind by more than the configured threshold, has no data yet,
+ * or cannot be queried at all, reads are routed back to the primary until it catches up.
+ */
+@Singleton
+public class ReplicaLagMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final PairRateRepository primary;
+    private final ReplicaPairRateRepository replica;
+    private final boolean enabled;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(PairRateRepository primary,
+                             ReplicaPairRateRepository replica,
+                             @Value("${app.datasource.replica.enabled:true}") boolean enabled,
+                             @Value("${app.datasource.replica.max-lag:30s}") Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.enabled = enabled;
+        this.maxLag = maxLag;
+        this.replicaUsable = false;
+    }
+
+    /**
+     * Whether read-only queries may currently be served by the replica.
+     */
+    public boolean isReplicaUsable() {
+        return enabled && replicaUsable;
+    }
+
+    /**
+     * Called by the read router when a replica query throws, so subsequent reads
+     * go to the primary until the next successful check.
+     */
+    public void markReplicaFailed() {
+        replicaUsable = false;
+    }
+
+    @Scheduled(fixedDelay = "${app.datasource.replica.check-interval:15s}",
+               initialDelay = "${app.datasource.replica.check-interval:15s}")
+    public void check() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant primaryLatest = primary.findMaxTimestamp();
+            Instant replicaLatest = replica.findMaxTimestamp();
+
+            // Once the replica misses the newest primary row it has been behind at least since that write
+            Duration lag;
+            if (primaryLatest == null || (replicaLatest != null && !replicaLatest.isBefore(primaryLatest))) {
+                lag = Duration.ZERO;
+            } else {
+                lag = Duration.between(primaryLatest, Instant.now());
+            }
+            if (lag.isNegative()) {
+                lag = Duration.ZERO;
+            }
+
+            // An empty or unseeded replica has no high-water mark to measure lag against
+            boolean usable = replicaLatest != null && lag.compareTo(maxLag) <= 0;
+            if (usable != replicaUsable) {
+                LOG.info("Replica reads {} (lag {}ms, threshold {}ms)",
+                        usable ? "enabled" : "disabled", lag.toMillis(), maxLag.toMillis());
+            }
+            replicaUsable = usable;
+        } catch (Exception e) {
+            if (replicaUsable) {
+                LOG.warn("Replica lag check failed, falling back to primary", e);
+            }
+            replicaUsable = false;
+        }
+    }
+}
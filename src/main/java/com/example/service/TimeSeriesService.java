@@ -0,0 +1,127 @@
+package com.example.service;
+
+import com.example.entity.CurrencyPair;
+import com.example.entity.PairRate;
+import com.example.entity.PairRateId;
+import com.example.repository.PairRateRepository;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes and shapes the narrow (pair_id, ts, rate) time series.
+ */
+@Singleton
+public class TimeSeriesService {
+
+    private final PairRateRepository repository;
+    private final PairDictionary pairs;
+
+    public TimeSeriesService(PairRateRepository repository, PairDictionary pairs) {
+        this.repository = repository;
+        this.pairs = pairs;
+    }
+
+    /**
+     * Store one observation per pair at the same timestamp. A point already stored for a
+     * pair at that timestamp is overwritten rather than inserted twice; which pairs already
+     * have one is looked up with a single query for the whole batch.
+     *
+     * @param ratesByPair rates keyed by pair code, e.g. {@code BTC/USD}
+     */
+    public void record(Instant timestamp, Map<String, Double> ratesByPair) {
+        if (ratesByPair.isEmpty()) {
+            return;
+        }
+        Set<Short> existing = new HashSet<>(repository.findPairIdsAt(timestamp));
+        List<PairRate> inserts = new ArrayList<>(ratesByPair.size());
+        List<PairRate> updates = new ArrayList<>();
+        ratesByPair.forEach((code, rate) -> {
+            int slash = code.indexOf('/');
+            PairRate row = new PairRate(pairs.idOf(code.substring(0, slash), code.substring(slash + 1)), timestamp, rate);
+            if (existing.contains(row.getId().getPairId())) {
+                updates.add(row);
+            } else {
+                inserts.add(row);
+            }
+        });
+        repository.saveAll(inserts);
+        if (!updates.isEmpty()) {
+            repository.updateAll(updates);
+        }
+    }
+
+    /**
+     * Group time-ordered points into one history entry per timestamp, in the history API
+     * shape: {@code id} (epoch millis), one field per pair such as {@code btc_usd}, and
+     * {@code timestamp}.
+     */
+    public List<Map<String, Object>> toHistoryEntries(List<PairRate> rows) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        Map<String, Object> entry = null;
+        Instant current = null;
+        for (PairRate row : rows) {
+            Instant timestamp = row.getId().getTimestamp();
+            if (!timestamp.equals(current)) {
+                if (entry != null) {
+                    entry.put("timestamp", current.toString());
+                    entries.add(entry);
+                }
+                current = timestamp;
+                entry = new LinkedHashMap<>();
+                entry.put("id", timestamp.toEpochMilli());
+            }
+            entry.put(PairDictionary.fieldName(pairs.get(row.getId().getPairId())), row.getRate());
+        }
+        if (entry != null) {
+            entry.put("timestamp", current.toString());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Latest points keyed by pair code, e.g. {@code BTC/USD}
+     */
+    public Map<String, CurrentRate> toCurrentRates(List<PairRate> latest) {
+        Map<String, CurrentRate> rates = new HashMap<>();
+        for (PairRate row : latest) {
+            CurrencyPair pair = pairs.get(row.getId().getPairId());
+            rates.put(PairDictionary.code(pair.getBase(), pair.getQuote()),
+                    new CurrentRate(pair.getBase(), pair.getQuote(), row.getRate(), row.getId().getTimestamp()));
+        }
+        return rates;
+    }
+
+    /**
+     * Newest point of every pair: per pair, its newest timestamp and then the point itself,
+     * both answered from the (pair_id, ts) primary key instead of a scan of pair_rate.
+     */
+    public List<PairRate> findLatest(Function<Short, Instant> newestTimestamp,
+                                     Function<PairRateId, Optional<PairRate>> point) {
+        List<PairRate> latest = new ArrayList<>();
+        for (short pairId : pairs.ids()) {
+            Instant timestamp = newestTimestamp.apply(pairId);
+            if (timestamp != null) {
+                point.apply(new PairRateId(pairId, timestamp)).ifPresent(latest::add);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Current rates read from the primary
+     */
+    public Map<String, CurrentRate> findCurrentRates() {
+        return toCurrentRates(findLatest(repository::findMaxTimestampByPairId, repository::findById));
+    }
+}
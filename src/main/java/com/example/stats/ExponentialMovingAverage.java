@@ -0,0 +1,29 @@
+package com.example.stats;
+
+/**
+ * Tick-based EMA with the usual smoothing factor 2 / (period + 1), seeded with the
+ * first sample. Not thread-safe, callers synchronize.
+ */
+public final class ExponentialMovingAverage {
+
+    private final int period;
+    private final double alpha;
+    private double value = Double.NaN;
+
+    public ExponentialMovingAverage(int period) {
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void add(double sample) {
+        value = Double.isNaN(value) ? sample : value + alpha * (sample - value);
+    }
+
+    public double value() {
+        return value;
+    }
+}
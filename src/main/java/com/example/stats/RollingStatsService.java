@@ -0,0 +1,170 @@
+package com.example.stats;
+
+import com.example.entity.RateHistory;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.RateSnapshotChangedEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained moving averages, volatility and min/max for BTC/USD and BTC/EUR
+ * over the configured windows. Rebuilt from rate_history at startup, then updated per tick:
+ * directly by the refresh job on the leader, and by a catch-up query when a follower sees
+ * a new snapshot version. Not loaded in the one-shot history import mode.
+ */
+@Singleton
+@Requires(notEnv = "import")
+public class RollingStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RollingStatsService.class);
+
+    private final RateHistoryRepository repository;
+    private final Duration longestWindow;
+    private final PairStats usd;
+    private final PairStats eur;
+
+    private long lastId = -1;
+    private Instant lastTimestamp = Instant.EPOCH;
+
+    public RollingStatsService(RateHistoryRepository repository,
+                               @Value("${app.stats.windows:1h,24h,7d}") List<Duration> windows,
+                               @Value("${app.stats.ema-periods:12,26,288}") List<Integer> emaPeriods) {
+        this.repository = repository;
+        this.longestWindow = windows.stream().max(Duration::compareTo).orElse(Duration.ofDays(1));
+        this.usd = new PairStats(windows, emaPeriods);
+        this.eur = new PairStats(windows, emaPeriods);
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        try {
+            List<RateHistory> rows = repository.findByTimestampGreaterThanOrderByTimestampAsc(
+                    Instant.now().minus(longestWindow));
+            rows.forEach(this::record);
+            LOG.info("Rolling statistics rebuilt from {} history rows", rows.size());
+        } catch (Exception e) {
+            LOG.error("Failed to rebuild rolling statistics", e);
+        }
+    }
+
+    /**
+     * Catch up with rows written by the leader on another node.
+     */
+    @EventListener
+    void onSnapshotChanged(RateSnapshotChangedEvent event) {
+        Instant since;
+        synchronized (this) {
+            since = lastTimestamp;
+        }
+        try {
+            repository.findByTimestampGreaterThanOrderByTimestampAsc(since).forEach(this::record);
+        } catch (Exception e) {
+            LOG.error("Failed to update rolling statistics", e);
+        }
+    }
+
+    /**
+     * O(1) amortized per window. Rows already seen, or older than the newest one, are ignored.
+     */
+    public synchronized void record(RateHistory row) {
+        if (row.getId() != null && row.getId() <= lastId) {
+            return;
+        }
+        if (row.getTimestamp() == null || row.getTimestamp().isBefore(lastTimestamp)) {
+            return;
+        }
+        long millis = row.getTimestamp().toEpochMilli();
+        usd.add(millis, row.getBtcUsd());
+        eur.add(millis, row.getBtcEur());
+        if (row.getId() != null) {
+            lastId = row.getId();
+        }
+        lastTimestamp = row.getTimestamp();
+    }
+
+    /**
+     * Current statistics; windows are first trimmed to the present so idle periods age out.
+     */
+    public synchronized Map<String, Object> snapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("btc_usd", usd.toMap(now));
+        data.put("btc_eur", eur.toMap(now));
+        data.put("last_update", lastTimestamp.equals(Instant.EPOCH) ? null : lastTimestamp.toString());
+        return data;
+    }
+
+    private static final class PairStats {
+        private final RollingWindow[] windows;
+        private final ExponentialMovingAverage[] emas;
+        private double last = Double.NaN;
+
+        PairStats(List<Duration> windowDurations, List<Integer> emaPeriods) {
+            this.windows = windowDurations.stream()
+                    .map(duration -> new RollingWindow(duration.toMillis()))
+                    .toArray(RollingWindow[]::new);
+            this.emas = emaPeriods.stream()
+                    .map(ExponentialMovingAverage::new)
+                    .toArray(ExponentialMovingAverage[]::new);
+        }
+
+        void add(long timestampMillis, Double value) {
+            if (value == null) {
+                return;
+            }
+            last = value;
+            for (RollingWindow window : windows) {
+                window.add(timestampMillis, value);
+            }
+            for (ExponentialMovingAverage ema : emas) {
+                ema.add(value);
+            }
+        }
+
+        Map<String, Object> toMap(long nowMillis) {
+            Map<String, Object> ema = new LinkedHashMap<>();
+            for (ExponentialMovingAverage average : emas) {
+                ema.put(Integer.toString(average.getPeriod()), number(average.value()));
+            }
+            Map<String, Object> byWindow = new LinkedHashMap<>();
+            for (RollingWindow window : windows) {
+                window.evictBefore(nowMillis - window.getWindowMillis());
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", window.size());
+                stats.put("sma", number(window.mean()));
+                stats.put("min", number(window.min()));
+                stats.put("max", number(window.max()));
+                stats.put("volatility", number(window.volatility()));
+                byWindow.put(label(window.getWindowMillis()), stats);
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("last", number(last));
+            result.put("ema", ema);
+            result.put("windows", byWindow);
+            return result;
+        }
+
+        private static Double number(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+
+        private static String label(long windowMillis) {
+            Duration duration = Duration.ofMillis(windowMillis);
+            if (duration.toMinutesPart() == 0 && duration.toSecondsPart() == 0 && duration.toMillisPart() == 0) {
+                return duration.toHours() + "h";
+            }
+            return duration.toMinutes() + "m";
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.stats;
+
+/**
+ * Time-based sliding window over a price series with O(1) amortized updates:
+ * a running sum for the mean, Welford's algorithm (with removal) for the variance of
+ * log returns, and monotonic deques for min and max.
+ * <p>
+ * Samples live in a power-of-two ring addressed by sequence number; the deques hold
+ * sequence numbers. Not thread-safe, callers synchronize.
+ */
+public final class RollingWindow {
+
+    private final long windowMillis;
+
+    private long[] timestamps;
+    private double[] values;
+    private double[] returns;
+    private int mask;
+
+    /** Sequence number of the oldest sample in the window */
+    private long firstSeq;
+    /** Sequence number the next sample will get */
+    private long nextSeq;
+
+    private double sum;
+
+    /** Welford accumulator over the log returns of all samples except the oldest */
+    private long returnCount;
+    private double returnMean;
+    private double returnM2;
+
+    private final MonotonicDeque minDeque = new MonotonicDeque(true);
+    private final MonotonicDeque maxDeque = new MonotonicDeque(false);
+
+    public RollingWindow(long windowMillis) {
+        this(windowMillis, 64);
+    }
+
+    RollingWindow(long windowMillis, int initialCapacity) {
+        this.windowMillis = windowMillis;
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.returns = new double[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Add a sample; timestamps must not go backwards.
+     */
+    public void add(long timestampMillis, double value) {
+        evictBefore(timestampMillis - windowMillis);
+        if (nextSeq - firstSeq == timestamps.length) {
+            grow();
+        }
+        int index = (int) (nextSeq & mask);
+        timestamps[index] = timestampMillis;
+        values[index] = value;
+        if (nextSeq > firstSeq) {
+            double previous = values[(int) ((nextSeq - 1) & mask)];
+            double logReturn = previous > 0 && value > 0 ? Math.log(value / previous) : 0;
+            returns[index] = logReturn;
+            addReturn(logReturn);
+        } else {
+            returns[index] = 0;
+        }
+        sum += value;
+        minDeque.push(nextSeq, value);
+        maxDeque.push(nextSeq, value);
+        nextSeq++;
+    }
+
+    /**
+     * Drop samples with a timestamp strictly before {@code cutoffMillis}.
+     */
+    public void evictBefore(long cutoffMillis) {
+        while (firstSeq < nextSeq && timestamps[(int) (firstSeq & mask)] < cutoffMillis) {
+            sum -= values[(int) (firstSeq & mask)];
+            minDeque.evict(firstSeq);
+            maxDeque.evict(firstSeq);
+            firstSeq++;
+            if (firstSeq < nextSeq) {
+                // The new oldest sample's return now points outside the window
+                removeReturn(returns[(int) (firstSeq & mask)]);
+            }
+        }
+        if (firstSeq == nextSeq) {
+            sum = 0;
+            returnCount = 0;
+            returnMean = 0;
+            returnM2 = 0;
+        }
+    }
+
+    public int size() {
+        return (int) (nextSeq - firstSeq);
+    }
+
+    public double mean() {
+        int size = size();
+        return size == 0 ? Double.NaN : sum / size;
+    }
+
+    public double min() {
+        return minDeque.isEmpty() ? Double.NaN : values[(int) (minDeque.front() & mask)];
+    }
+
+    public double max() {
+        return maxDeque.isEmpty() ? Double.NaN : values[(int) (maxDeque.front() & mask)];
+    }
+
+    /**
+     * Sample standard deviation of per-tick log returns in the window
+     */
+    public double volatility() {
+        return returnCount < 2 ? Double.NaN : Math.sqrt(Math.max(0, returnM2) / (returnCount - 1));
+    }
+
+    private void addReturn(double x) {
+        returnCount++;
+        double delta = x - returnMean;
+        returnMean += delta / returnCount;
+        returnM2 += delta * (x - returnMean);
+    }
+
+    private void removeReturn(double x) {
+        if (returnCount <= 1) {
+            returnCount = 0;
+            returnMean = 0;
+            returnM2 = 0;
+            return;
+        }
+        double oldMean = returnMean;
+        returnMean = (returnCount * oldMean - x) / (returnCount - 1);
+        returnM2 -= (x - oldMean) * (x - returnMean);
+        returnCount--;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length << 1;
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        double[] newReturns = new double[capacity];
+        int newMask = capacity - 1;
+        for (long seq = firstSeq; seq < nextSeq; seq++) {
+            int from = (int) (seq & mask);
+            int to = (int) (seq & newMask);
+            newTimestamps[to] = timestamps[from];
+            newValues[to] = values[from];
+            newReturns[to] = returns[from];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        returns = newReturns;
+        mask = newMask;
+    }
+
+    /**
+     * Deque of sequence numbers whose values are monotonic, so the front is the
+     * window minimum (or maximum).
+     */
+    private final class MonotonicDeque {
+        private final boolean minimum;
+        private long[] seqs = new long[16];
+        private int head;
+        private int size;
+
+        MonotonicDeque(boolean minimum) {
+            this.minimum = minimum;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long front() {
+            return seqs[head];
+        }
+
+        void push(long seq, double value) {
+            while (size > 0) {
+                double back = values[(int) (seqs[(head + size - 1) & (seqs.length - 1)] & mask)];
+                if (minimum ? back >= value : back <= value) {
+                    size--;
+                } else {
+                    break;
+                }
+            }
+            if (size == seqs.length) {
+                long[] grown = new long[seqs.length << 1];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = seqs[(head + i) & (seqs.length - 1)];
+                }
+                seqs = grown;
+                head = 0;
+            }
+            seqs[(head + size) & (seqs.length - 1)] = seq;
+            size++;
+        }
+
+        void evict(long seq) {
+            if (size > 0 && seqs[head] == seq) {
+                head = (head + 1) & (seqs.length - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.alert;
+
+import com.example.entity.PriceAlert;
+import com.example.service.PairDictionary;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class AlertServiceTest {
+
+    @Inject
+    AlertService alertService;
+
+    @Inject
+    PairDictionary pairs;
+
+    @Test
+    void firesOnlyCrossedAlertsOnce() {
+        pairs.idOf("BTC", "CHF");
+        PriceAlert above = alertService.create("BTC/CHF", 92_000, PriceAlert.Direction.ABOVE, null);
+        PriceAlert below = alertService.create("BTC/CHF", 85_000, PriceAlert.Direction.BELOW, null);
+        PriceAlert farAbove = alertService.create("BTC/CHF", 99_000, PriceAlert.Direction.CROSS, null);
+
+        // The first tick only records the starting rate
+        assertEquals(0, alertService.evaluate(Instant.now(), Map.of("BTC/CHF", 90_000.0)));
+        assertEquals(1, alertService.evaluate(Instant.now(), Map.of("BTC/CHF", 93_000.0)));
+        // Falling back through 92k does not re-fire the one-shot alert
+        assertEquals(0, alertService.evaluate(Instant.now(), Map.of("BTC/CHF", 91_000.0)));
+
+        PriceAlert fired = alertService.find(above.getId()).orElseThrow();
+        assertFalse(fired.isActive());
+        assertNotNull(fired.getTriggeredAt());
+        assertTrue(alertService.find(below.getId()).orElseThrow().isActive());
+        assertTrue(alertService.find(farAbove.getId()).orElseThrow().isActive());
+    }
+
+    @Test
+    void rejectsUnknownPairs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> alertService.create("BTC/XYZ", 1, PriceAlert.Direction.CROSS, null));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThresholdIndexTest {
+
+    @Test
+    void findsThresholdsInRangeWithInclusiveBounds() {
+        ThresholdIndex index = new ThresholdIndex();
+        index.add(1, 100);
+        index.add(2, 110);
+        index.add(3, 120);
+        index.add(4, 110);
+
+        // Rising from 100 to 110: (100, 110]
+        long[] rising = index.between(100, false, 110, true);
+        Arrays.sort(rising);
+        assertArrayEquals(new long[]{2, 4}, rising);
+        // Falling from 120 to 110: [110, 120)
+        long[] falling = index.between(110, true, 120, false);
+        Arrays.sort(falling);
+        assertArrayEquals(new long[]{2, 4}, falling);
+        assertEquals(0, index.between(121, false, 200, true).length);
+    }
+
+    @Test
+    void removalsAndLateAdditionsAreMergedBeforeQueries() {
+        ThresholdIndex index = new ThresholdIndex();
+        index.add(1, 100);
+        index.add(2, 200);
+        assertEquals(2, index.size());
+
+        index.remove(1);
+        index.add(3, 150);
+        index.add(4, 50);
+        index.remove(4);
+
+        assertEquals(2, index.size());
+        assertArrayEquals(new long[]{3, 2}, index.between(0, true, 1000, true));
+    }
+
+    @Test
+    void sortsLargeBatchesWithDuplicatesAndDescendingRuns() {
+        ThresholdIndex index = new ThresholdIndex();
+        Map<Long, Double> thresholds = new HashMap<>();
+        for (long id = 1; id <= 10_000; id++) {
+            double threshold = id % 2 == 0 ? (10_000 - id) / 3 : 500 + id % 7;
+            index.add(id, threshold);
+            thresholds.put(id, threshold);
+        }
+
+        long[] all = index.between(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true);
+        assertEquals(thresholds.size(), all.length);
+        for (int i = 1; i < all.length; i++) {
+            assertTrue(thresholds.get(all[i - 1]) <= thresholds.get(all[i]));
+        }
+    }
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(5);
+        ThresholdIndex index = new ThresholdIndex();
+        Map<Long, Double> expected = new HashMap<>();
+        for (long id = 1; id <= 20_000; id++) {
+            double threshold = 80_000 + random.nextInt(20_000) + random.nextInt(4) * 0.25;
+            index.add(id, threshold);
+            expected.put(id, threshold);
+            if (random.nextInt(10) == 0) {
+                long victim = 1 + random.nextInt((int) id);
+                index.remove(victim);
+                expected.remove(victim);
+            }
+            if (id % 5_000 == 0) {
+                double previous = 80_000 + random.nextInt(20_000);
+                double rate = 80_000 + random.nextInt(20_000);
+                double low = Math.min(previous, rate);
+                double high = Math.max(previous, rate);
+                long[] found = index.between(low, false, high, true);
+                long[] scanned = expected.entrySet().stream()
+                        .filter(entry -> entry.getValue() > low && entry.getValue() <= high)
+                        .mapToLong(Map.Entry::getKey)
+                        .sorted()
+                        .toArray();
+                Arrays.sort(found);
+                assertArrayEquals(scanned, found);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.controller;
+
+import com.example.service.PairDictionary;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.alerts.sinks.webhook.allowed-hosts", value = "hooks.example.com")
+class AlertControllerTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    PairDictionary pairs;
+
+    @BeforeEach
+    void trackPair() {
+        pairs.idOf("BTC", "EUR");
+    }
+
+    @Test
+    void createsReadsAndDeletesAnAlert() {
+        String created = post(Map.of("pair", "BTC/EUR", "threshold", 90000, "direction", "above",
+                "target", "https://hooks.example.com/btc"));
+        assertTrue(created.contains("\"success\":true"));
+        assertTrue(created.contains("\"direction\":\"above\""));
+        Matcher id = ID.matcher(created);
+        assertTrue(id.find());
+
+        String read = get("/api/alerts/" + id.group(1));
+        assertTrue(read.contains("\"success\":true"));
+        assertTrue(read.contains("\"active\":true"));
+
+        var deleted = client.toBlocking().exchange(HttpRequest.DELETE("/api/alerts/" + id.group(1)), String.class);
+        assertEquals(HttpStatus.OK, deleted.getStatus());
+        assertTrue(deleted.getBody().orElse("").contains("\"success\":true"));
+        assertTrue(get("/api/alerts/" + id.group(1)).contains("Alert not found"));
+    }
+
+    @Test
+    void rejectsUnknownDirection() {
+        String body = post(Map.of("pair", "BTC/EUR", "threshold", 90000, "direction", "sideways"));
+
+        assertTrue(body.contains("\"success\":false"));
+        assertTrue(body.contains("direction must be above, below or cross"));
+    }
+
+    @Test
+    void rejectsTargetsOutsideTheAllowList() {
+        for (String target : new String[]{"http://169.254.169.254/latest/meta-data", "http://localhost:8080/",
+                "https://hooks.example.com@internal.local/", "file:///etc/passwd"}) {
+            String body = post(Map.of("pair", "BTC/EUR", "threshold", 90000, "target", target));
+
+            assertTrue(body.contains("\"success\":false"), target);
+        }
+    }
+
+    private String post(Map<String, Object> request) {
+        var response = client.toBlocking().exchange(HttpRequest.POST("/api/alerts", request), String.class);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        return response.getBody().orElse("");
+    }
+
+    private String get(String path) {
+        return client.toBlocking().exchange(HttpRequest.GET(path), String.class).getBody().orElse("");
+    }
+}
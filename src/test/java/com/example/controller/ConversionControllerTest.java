@@ -2,6 +2,8 @@ package com.example.controller;
 
 import com.example.dto.ConversionRequest;
 import com.example.dto.ConversionResponse;
+import com.example.entity.RateHistory;
+import com.example.history.RateTimeIndexService;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.client.HttpClient;
@@ -10,6 +12,8 @@ import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @MicronautTest
@@ -19,6 +23,9 @@ class ConversionControllerTest {
     @Client("/")
     HttpClient client;
 
+    @Inject
+    RateTimeIndexService rateTimeIndex;
+
     @Test
     void healthEndpointReturnsOk() {
         var response = client.toBlocking().exchange(HttpRequest.GET("/api/health"), String.class);
@@ -107,4 +114,91 @@ class ConversionControllerTest {
         ConversionResponse conversionResponse = response.getBody().orElse(null);
         assertNotNull(conversionResponse);
     }
+
+    @Test
+    void convertEndpointRejectsNonPositiveStringAmount() {
+        var response = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": \"0\"}"), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        String body = response.getBody().orElse("");
+        assertTrue(body.contains("\"success\":false"));
+        assertTrue(body.contains("BTC amount must be greater than 0"));
+    }
+
+    @Test
+    void convertEndpointReportsUnparseableAmount() {
+        var response = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": \"abc\"}"), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        String body = response.getBody().orElse("");
+        assertTrue(body.contains("\"success\":false"));
+        assertTrue(body.contains("abc"));
+    }
+
+    @Test
+    void convertEndpointTreatsNonScalarAmountAsMissing() {
+        for (String amount : new String[] {"true", "{\"value\": 1}", "[1]"}) {
+            var response = client.toBlocking().exchange(
+                HttpRequest.POST("/api/convert", "{\"btc_amount\": " + amount + "}"), String.class
+            );
+
+            assertEquals(HttpStatus.OK, response.getStatus());
+            String body = response.getBody().orElse("");
+            assertTrue(body.contains("\"success\":false"), amount);
+            assertTrue(body.contains("BTC amount must be greater than 0"), amount);
+        }
+    }
+
+    @Test
+    void convertEndpointRejectsFutureAtTimestamp() {
+        var response = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": \"0.5\", \"at\": \"2999-01-01T00:00:00Z\"}"), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        String body = response.getBody().orElse("");
+        assertTrue(body.contains("\"success\":false"));
+        assertTrue(body.contains("at must not be in the future"));
+    }
+
+    @Test
+    void convertEndpointReportsUnparseableAtTimestamp() {
+        var response = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": 0.5, \"at\": [\"yesterday\"]}"), String.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        String body = response.getBody().orElse("");
+        assertTrue(body.contains("\"success\":false"));
+        assertTrue(body.contains("Invalid at timestamp"));
+    }
+
+    @Test
+    void convertEndpointConvertsAtHistoricalTimestamps() {
+        // Far before any rate the application stores itself
+        rateTimeIndex.record(new RateHistory(20000.0, 18000.0, Instant.parse("1981-01-01T00:00:00Z")));
+        rateTimeIndex.record(new RateHistory(22000.0, 20000.0, Instant.parse("1981-01-01T00:10:00Z")));
+
+        var single = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": 0.5, \"at\": \"1981-01-01T00:05:00Z\"}"), String.class
+        );
+        String body = single.getBody().orElse("");
+        assertTrue(body.contains("\"success\":true"));
+        assertTrue(body.contains("\"usd_amount\":10000.0"));
+        assertTrue(body.contains("\"timestamp\":\"1981-01-01T00:00:00Z\""));
+
+        var batch = client.toBlocking().exchange(
+            HttpRequest.POST("/api/convert", "{\"btc_amount\": 0.5, \"interpolate\": true, "
+                    + "\"at\": [\"1981-01-01T00:05:00Z\", \"1981-01-01T00:10:00Z\"]}"), String.class
+        );
+        body = batch.getBody().orElse("");
+        assertTrue(body.contains("\"success\":true"));
+        assertTrue(body.contains("\"conversions\""));
+        assertTrue(body.contains("\"usd_amount\":10500.0"));
+        assertTrue(body.contains("\"eur_amount\":10000.0"));
+    }
 }
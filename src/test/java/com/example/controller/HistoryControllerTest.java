@@ -0,0 +1,90 @@
+package com.example.controller;
+
+import com.example.service.TimeSeriesService;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.datasource.replica.enabled", value = "false")
+class HistoryControllerTest {
+
+    // Older than anything other tests record, so these are the first entries after BASE - 1
+    private static final Instant BASE = Instant.parse("2017-01-01T00:00:00Z");
+    // Far enough back to cover BASE
+    private static final int HOURS = 100_000;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    TimeSeriesService timeSeries;
+
+    @Inject
+    JsonMapper jsonMapper;
+
+    @BeforeEach
+    void seed() {
+        timeSeries.record(BASE, Map.of("BTC/USD", 1000.0));
+        // Two entries inside the same millisecond
+        timeSeries.record(BASE.plusMillis(1).plusNanos(100_000), Map.of("BTC/USD", 1001.0));
+        timeSeries.record(BASE.plusMillis(1).plusNanos(200_000), Map.of("BTC/USD", 1002.0));
+        timeSeries.record(BASE.plusMillis(5), Map.of("BTC/USD", 1005.0));
+    }
+
+    @Test
+    void pagesByLimitAndSinceIdWithoutLosingEntriesOfOneMillisecond() throws IOException {
+        long start = BASE.toEpochMilli();
+        Map<String, Object> first = page(start - 1, 2);
+
+        // The page is extended to the end of its last millisecond
+        List<Map<String, Object>> data = data(first);
+        assertEquals(3, data.size());
+        assertEquals(1000.0, ((Number) data.get(0).get("btc_usd")).doubleValue());
+        assertEquals(1002.0, ((Number) data.get(2).get("btc_usd")).doubleValue());
+        assertEquals(start + 1, ((Number) first.get("next_since_id")).longValue());
+        assertEquals(true, first.get("has_more"));
+
+        Map<String, Object> second = page(start + 1, 1);
+        assertEquals(start + 5, ((Number) data(second).get(0).get("id")).longValue());
+        assertEquals(start + 5, ((Number) second.get("next_since_id")).longValue());
+    }
+
+    @Test
+    void emptyPageKeepsTheCursor() throws IOException {
+        long future = Instant.now().plusSeconds(3600).toEpochMilli();
+        Map<String, Object> empty = page(future, 10);
+
+        assertEquals(true, empty.get("success"));
+        assertTrue(data(empty).isEmpty());
+        assertEquals(future, ((Number) empty.get("next_since_id")).longValue());
+        assertEquals(false, empty.get("has_more"));
+    }
+
+    private Map<String, Object> page(long sinceId, int limit) throws IOException {
+        String body = client.toBlocking().retrieve(HttpRequest.GET(
+                "/api/history/rate-history?hours=" + HOURS + "&since_id=" + sinceId + "&limit=" + limit));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = jsonMapper.readValue(body, Map.class);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> data(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("data");
+    }
+}
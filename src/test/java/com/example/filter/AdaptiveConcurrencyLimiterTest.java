@@ -0,0 +1,99 @@
+package com.example.filter;
+
+import com.example.filter.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = 250_000_000L;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void shedsLowPriorityFirst() {
+        // limit 10: sheddable admitted up to 5, normal up to 10, critical up to 20
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, THRESHOLD, 0.5, 0.5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.SHEDDABLE));
+        }
+        assertFalse(limiter.tryAcquire(Priority.SHEDDABLE));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertEquals(11, limiter.getInFlight());
+        assertEquals(1L, limiter.getRejected(Priority.SHEDDABLE));
+        assertEquals(1L, limiter.getRejected(Priority.NORMAL));
+    }
+
+    @Test
+    void backsOffOnSlowOrFailedResponses() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 20, THRESHOLD, 0.5, 0.5);
+        long now = 0;
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(Priority.NORMAL, THRESHOLD + 1, false, now += SECOND);
+        assertEquals(8, limiter.getLimit());
+
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(Priority.NORMAL, 1, true, now += SECOND);
+        assertEquals(4, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(Priority.NORMAL);
+            limiter.release(Priority.NORMAL, THRESHOLD * 2, false, now += SECOND);
+        }
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void backsOffOncePerOverloadEpisode() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 20, THRESHOLD, 0.5, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(Priority.NORMAL);
+        }
+        // Four requests that queued together all end slow
+        for (int i = 0; i < 4; i++) {
+            limiter.release(Priority.NORMAL, THRESHOLD * 2, false, SECOND + i);
+        }
+        assertEquals(8, limiter.getLimit());
+
+        // A request that started after the backoff is new evidence
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(Priority.NORMAL, THRESHOLD * 2, false, SECOND + THRESHOLD * 3);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void slowSheddableRequestsDoNotBackOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 20, THRESHOLD, 0.5, 0.5);
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        limiter.release(Priority.SHEDDABLE, THRESHOLD * 10, false, SECOND);
+        assertEquals(16, limiter.getLimit());
+
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        limiter.release(Priority.SHEDDABLE, 1, true, 2 * SECOND);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void growsOnlyWhenLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 6, THRESHOLD, 0.5, 0.5);
+
+        // a single request in flight does not use half of the limit
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(Priority.NORMAL, 1, false);
+        assertEquals(4, limiter.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(Priority.NORMAL);
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(Priority.NORMAL, 1, false);
+        }
+        // in flight 4, 3, 2 at release grows the limit, capped at the maximum
+        assertEquals(6, limiter.getLimit());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.filter;
+
+import com.example.filter.AdaptiveConcurrencyLimiter.Priority;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.concurrency-limit.initial-limit", value = "2")
+@Property(name = "app.concurrency-limit.min-limit", value = "2")
+@Property(name = "app.concurrency-limit.max-limit", value = "10")
+class ConcurrencyLimitFilterTest {
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    ConcurrencyLimitFilter filter;
+
+    @Test
+    void shedsWithRetryAfterWhileCriticalPathsStillPass() {
+        AdaptiveConcurrencyLimiter limiter = filter.getLimiter();
+        // Hold the whole normal limit, as two stuck requests would
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        try {
+            for (String path : new String[]{"/api/history/total", "/api/currencies"}) {
+                HttpClientResponseException shed = assertThrows(HttpClientResponseException.class,
+                        () -> client.toBlocking().exchange(HttpRequest.GET(path), String.class));
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getStatus());
+                assertEquals("1", shed.getResponse().getHeaders().get(HttpHeaders.RETRY_AFTER));
+            }
+
+            var health = client.toBlocking().exchange(HttpRequest.GET("/api/health"), String.class);
+            assertEquals(HttpStatus.OK, health.getStatus());
+        } finally {
+            limiter.release(Priority.NORMAL, 1, false);
+            limiter.release(Priority.NORMAL, 1, false);
+        }
+
+        var history = client.toBlocking().exchange(HttpRequest.GET("/api/history/total"), String.class);
+        assertEquals(HttpStatus.OK, history.getStatus());
+    }
+
+    @Test
+    void classifiesOnWholePathSegments() {
+        assertEquals(Priority.CRITICAL, filter.classify("/api/health"));
+        assertEquals(Priority.CRITICAL, filter.classify("/api/prices/latest/BTC"));
+        assertEquals(Priority.NORMAL, filter.classify("/api/healthz"));
+        assertEquals(Priority.SHEDDABLE, filter.classify("/api/history/total"));
+        assertEquals(Priority.NORMAL, filter.classify("/api/historyX"));
+    }
+}
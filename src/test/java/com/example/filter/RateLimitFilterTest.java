@@ -0,0 +1,83 @@
+package com.example.filter;
+
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.rate-limit.routes.history.requests-per-second", value = "0.01")
+@Property(name = "app.rate-limit.routes.history.burst", value = "2")
+@Property(name = "app.rate-limit.routes.convert.path", value = "/api/currencies")
+@Property(name = "app.rate-limit.routes.convert.requests-per-second", value = "0.01")
+@Property(name = "app.rate-limit.routes.convert.burst", value = "1")
+@Property(name = "app.rate-limit.routes.stats.path", value = "/api/stats")
+@Property(name = "app.rate-limit.routes.stats.requests-per-second", value = "0.01")
+@Property(name = "app.rate-limit.routes.stats.burst", value = "1")
+@Property(name = "app.rate-limit.api-keys", value = "trusted-key")
+class RateLimitFilterTest {
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Test
+    void rejectsOverBurstWithRetryAfterEvenWithFreshApiKeys() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(HttpStatus.OK, exchange("/api/history/total", UUID.randomUUID().toString()));
+        }
+
+        HttpClientResponseException rejected = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/api/history/total")
+                        .header(RateLimitFilter.API_KEY_HEADER, UUID.randomUUID().toString()), String.class));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        long retryAfter = Long.parseLong(rejected.getResponse().getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter >= 1);
+    }
+
+    @Test
+    void configuredApiKeyGetsItsOwnBucket() {
+        assertEquals(HttpStatus.OK, exchange("/api/currencies", null));
+        assertEquals(HttpStatus.OK, exchange("/api/currencies", "trusted-key"));
+    }
+
+    @Test
+    void forwardedHeadersFromUntrustedPeersDoNotGetFreshBuckets() {
+        assertEquals(HttpStatus.OK, client.toBlocking().exchange(HttpRequest.GET("/api/stats")
+                .header("X-Forwarded-For", "203.0.113.1"), String.class).getStatus());
+
+        HttpClientResponseException rejected = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/api/stats")
+                        .header("X-Forwarded-For", "203.0.113.2")
+                        .header("Forwarded", "for=203.0.113.3"), String.class));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+    }
+
+    @Test
+    void routePrefixMatchesWholeSegmentsOnly() {
+        for (int i = 0; i < 5; i++) {
+            HttpClientResponseException notFound = assertThrows(HttpClientResponseException.class,
+                    () -> client.toBlocking().exchange(HttpRequest.GET("/api/historyX"), String.class));
+            assertEquals(HttpStatus.NOT_FOUND, notFound.getStatus());
+        }
+    }
+
+    private HttpStatus exchange(String path, String apiKey) {
+        var request = HttpRequest.GET(path);
+        if (apiKey != null) {
+            request.header(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        return client.toBlocking().exchange(request, String.class).getStatus();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRejectsWithWaitTime() {
+        // 10 requests per second, burst of 3
+        long interval = SECOND / 10;
+        long tolerance = interval * 2;
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(0, bucket.tryAcquire(0, interval, tolerance));
+        assertEquals(0, bucket.tryAcquire(0, interval, tolerance));
+        assertEquals(0, bucket.tryAcquire(0, interval, tolerance));
+
+        long wait = bucket.tryAcquire(0, interval, tolerance);
+        assertEquals(interval, wait);
+    }
+
+    @Test
+    void refillsOverTime() {
+        long interval = SECOND / 10;
+        TokenBucket bucket = new TokenBucket(0);
+
+        assertEquals(0, bucket.tryAcquire(0, interval, 0));
+        assertTrue(bucket.tryAcquire(interval / 2, interval, 0) > 0);
+        assertEquals(0, bucket.tryAcquire(interval, interval, 0));
+    }
+
+    @Test
+    void fullBucketBecomesIdle() {
+        long interval = SECOND / 10;
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(0, interval, 0);
+
+        assertFalse(bucket.isIdle(interval, SECOND));
+        assertTrue(bucket.isIdle(interval + SECOND, SECOND));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTimeIndexTest {
+
+    @Test
+    void returnsLatestSampleAtOrBeforeTimestamp() {
+        RateTimeIndex index = new RateTimeIndex();
+        index.put(1_000, 100, 90);
+        index.put(2_000, 200, 180);
+
+        assertNull(index.at(999, false));
+        assertEquals(new RatePoint(1_000, 100, 90), index.at(1_000, false));
+        assertEquals(new RatePoint(1_000, 100, 90), index.at(1_999, false));
+        assertEquals(new RatePoint(2_000, 200, 180), index.at(50_000, false));
+    }
+
+    @Test
+    void interpolatesBetweenSurroundingSamples() {
+        RateTimeIndex index = new RateTimeIndex();
+        index.put(1_000, 100, 90);
+        index.put(2_000, 200, 180);
+
+        assertEquals(new RatePoint(1_250, 125, 112.5), index.at(1_250, true));
+        // No extrapolation past the newest sample
+        assertEquals(new RatePoint(2_000, 200, 180), index.at(3_000, true));
+    }
+
+    @Test
+    void replacesOneRateWithoutDisturbingTheOtherOrLaterAppends() {
+        RateTimeIndex index = new RateTimeIndex();
+        index.put(1_000, 100, 90);
+        index.put(2_000, 200, 180);
+
+        // Re-reading the same row changes nothing
+        index.put(1_000, 100, 90);
+        assertEquals(2, index.size());
+
+        index.put(1_000, 150, 90);
+        index.put(3_000, 300, 270);
+        index.put(2_000, 200, 185);
+
+        assertEquals(3, index.size());
+        assertEquals(new RatePoint(1_000, 150, 90), index.at(1_000, false));
+        assertEquals(new RatePoint(2_000, 200, 185), index.at(2_000, false));
+        assertEquals(new RatePoint(3_000, 300, 270), index.at(3_000, false));
+    }
+
+    @Test
+    void matchesTreeMapWithOutOfOrderAndReplacedSamples() {
+        Random random = new Random(11);
+        RateTimeIndex index = new RateTimeIndex();
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Mostly in order, with some backfilled and some repeated timestamps
+            long timestamp = random.nextInt(10) == 0 ? random.nextInt(i + 1) * 10L : i * 10L;
+            index.put(timestamp, i, -i);
+            expected.put(timestamp, (double) i);
+        }
+
+        assertEquals(expected.size(), index.size());
+        long[] queries = new long[2_000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(51_000) - 100;
+        }
+        RatePoint[] points = index.at(queries, false);
+        for (int i = 0; i < queries.length; i++) {
+            var floor = expected.floorEntry(queries[i]);
+            if (floor == null) {
+                assertNull(points[i]);
+            } else {
+                assertEquals(floor.getKey().longValue(), points[i].timestamp());
+                assertEquals(floor.getValue().doubleValue(), points[i].btcUsd());
+                assertEquals(-floor.getValue().doubleValue(), points[i].btcEur());
+            }
+        }
+    }
+}
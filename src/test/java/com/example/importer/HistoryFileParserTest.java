@@ -0,0 +1,139 @@
+package com.example.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryFileParserTest {
+
+    @Test
+    void parsesCsvWithHeaderAndMixedTimestamps() {
+        String csv = "timestamp,btc_usd,btc_eur\r\n"
+                + "2025-01-01T00:00:00Z,94000.5,90000.25\r\n"
+                + "# comment\n"
+                + "\n"
+                + "1735689900,94100,90100\n"
+                + "1735690200000,94200,90200\n"
+                + "not-a-timestamp,1,2\n"
+                + "1735690500000,94300";
+        RateColumns rows = parse(csv, HistoryFileParser.Format.CSV, 1);
+
+        assertEquals(3, rows.size());
+        assertEquals(2, rows.skippedLines());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli(), rows.timestamp(0));
+        assertEquals(1_735_689_900_000L, rows.timestamp(1));
+        assertEquals(1_735_690_200_000L, rows.timestamp(2));
+        assertEquals(94000.5, rows.usd(0));
+        assertEquals(90200, rows.eur(2));
+    }
+
+    @Test
+    void parsesNdjson() {
+        String ndjson = "{\"timestamp\": \"2025-01-01T00:00:00Z\", \"btc_usd\": 94000.5, \"btc_eur\": 90000}\n"
+                + "{\"btc_eur\":90100,\"btc_usd\":94100,\"timestamp\":1735689900000}\n"
+                + "{\"btc_usd\":1}\n";
+        RateColumns rows = parse(ndjson, HistoryFileParser.Format.NDJSON, 1);
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.skippedLines());
+        assertEquals(94100, rows.usd(1));
+        assertEquals(90100, rows.eur(1));
+        assertEquals(1_735_689_900_000L, rows.timestamp(1));
+    }
+
+    @Test
+    void parallelChunksMatchSequentialParse() {
+        StringBuilder csv = new StringBuilder("timestamp,btc_usd,btc_eur\n");
+        for (int i = 0; i < 50_000; i++) {
+            csv.append(1_735_689_600_000L + i * 60_000L).append(',').append(90_000 + i).append(',').append(85_000 + i).append('\n');
+        }
+        RateColumns rows = parse(csv.toString(), HistoryFileParser.Format.CSV, 8);
+
+        assertEquals(50_000, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(1_735_689_600_000L + i * 60_000L, rows.timestamp(i));
+            assertEquals(90_000 + i, rows.usd(i));
+        }
+    }
+
+    @Test
+    void fileIsReadInBoundedChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("timestamp,btc_usd,btc_eur\n");
+        for (int i = 0; i < 5_000; i++) {
+            csv.append(1_735_689_600_000L + i * 60_000L).append(',').append(90_000 + i).append(',').append(85_000 + i).append('\n');
+        }
+        // Longer than a whole chunk, and no trailing newline on the last line
+        csv.append("# ").append("x".repeat(3_000)).append('\n');
+        csv.append("1735989600000,1,2");
+        Path file = Files.createTempFile("history", ".csv");
+        try {
+            Files.writeString(file, csv, StandardCharsets.US_ASCII);
+            RateColumns rows = HistoryFileParser.parse(file, HistoryFileParser.Format.CSV, 2, 1024);
+
+            assertEquals(5_001, rows.size());
+            assertEquals(0, rows.skippedLines());
+            for (int i = 0; i < 5_000; i++) {
+                assertEquals(1_735_689_600_000L + i * 60_000L, rows.timestamp(i));
+                assertEquals(85_000 + i, rows.eur(i));
+            }
+            assertEquals(1_735_989_600_000L, rows.timestamp(5_000));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void sortAndDeduplicateKeepsLastOccurrence() {
+        Random random = new Random(3);
+        RateColumns rows = new RateColumns(0);
+        double[] expected = new double[1_000];
+        boolean[] seen = new boolean[1_000];
+        int distinct = 0;
+        for (int i = 0; i < 5_000; i++) {
+            int slot = random.nextInt(1_000);
+            rows.add(slot * 1000L, i, -i);
+            expected[slot] = i;
+            if (!seen[slot]) {
+                seen[slot] = true;
+                distinct++;
+            }
+        }
+
+        int removed = rows.sortAndDeduplicate();
+
+        assertEquals(distinct, rows.size());
+        assertEquals(5_000 - distinct, removed);
+        for (int i = 0; i < rows.size(); i++) {
+            int slot = (int) (rows.timestamp(i) / 1000);
+            if (i > 0) {
+                assertTrue(rows.timestamp(i) > rows.timestamp(i - 1));
+            }
+            assertEquals(expected[slot], rows.usd(i));
+            assertEquals(-expected[slot], rows.eur(i));
+        }
+    }
+
+    @Test
+    void removeTimestampsDropsStoredRows() {
+        RateColumns rows = new RateColumns(0);
+        for (int i = 0; i < 10; i++) {
+            rows.add(i * 100L, i, i);
+        }
+
+        assertEquals(3, rows.removeTimestamps(new long[]{0, 250, 300, 900}));
+        assertEquals(7, rows.size());
+        assertEquals(100, rows.timestamp(0));
+        assertEquals(800, rows.timestamp(6));
+    }
+
+    private static RateColumns parse(String text, HistoryFileParser.Format format, int parallelism) {
+        return HistoryFileParser.parse(text.getBytes(StandardCharsets.UTF_8), format, parallelism);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.importer;
+
+import com.example.repository.PairRateRepository;
+import com.example.repository.RateHistoryRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class HistoryImporterTest {
+
+    // Long before anything other tests record
+    private static final Instant START = Instant.parse("1995-01-01T00:00:00Z");
+
+    @Inject
+    HistoryImporter importer;
+
+    @Inject
+    RateHistoryRepository rateHistory;
+
+    @Inject
+    PairRateRepository pairRates;
+
+    @Test
+    void importsOnceAndSkipsStoredTimestampsOnRerun() throws IOException {
+        long t0 = START.toEpochMilli();
+        Path file = Files.createTempFile("history", ".csv");
+        try {
+            Files.writeString(file, "timestamp,btc_usd,btc_eur\n"
+                    + t0 + ",1000,900\n"
+                    + (t0 + 60_000) + ",1010,910\n"
+                    + (t0 + 60_000) + ",1011,911\n"
+                    + (t0 + 120_000) + ",1020,920\n");
+
+            ImportResult first = importer.importFile(file);
+            assertEquals(4L, first.parsedRows());
+            assertEquals(1L, first.duplicateRows());
+            assertEquals(3L, first.insertedRows());
+
+            ImportResult second = importer.importFile(file);
+            assertEquals(3L, second.existingRows());
+            assertEquals(0L, second.insertedRows());
+        } finally {
+            Files.delete(file);
+        }
+
+        Instant end = START.plusSeconds(120);
+        long historyRows = rateHistory.findByTimestampGreaterThanOrderByTimestampAsc(START.minusMillis(1)).stream()
+                .filter(row -> !row.getTimestamp().isAfter(end))
+                .count();
+        assertEquals(3, historyRows);
+        // One point per pair and timestamp; the duplicate kept its last row
+        var points = pairRates.findBetween(START.minusMillis(1), end);
+        assertEquals(6, points.size());
+        assertTrue(points.stream().anyMatch(point -> point.getRate() == 1011.0));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocketTickSourceTest {
+
+    @Test
+    void readsTicksFromLocalFeed() throws Exception {
+        try (ServerSocket feed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            List<String> received = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(2);
+            SocketTickSource source = new SocketTickSource("127.0.0.1", feed.getLocalPort(), Duration.ofMillis(100));
+            source.start((pair, price, timestamp) -> {
+                received.add(pair + "=" + price + "@" + timestamp);
+                done.countDown();
+                return true;
+            });
+            try (Socket client = feed.accept(); OutputStream out = client.getOutputStream()) {
+                out.write(("BTC/USD 97000.5 1735689600000\n" +
+                           "garbage\n" +
+                           "BTC/EUR 90000.25 1735689600001\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                assertTrue(done.await(5, TimeUnit.SECONDS));
+            } finally {
+                source.close();
+            }
+
+            assertEquals(List.of("BTC/USD=97000.5@1735689600000", "BTC/EUR=90000.25@1735689600001"), received);
+            assertEquals(1L, source.getMalformedLines());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ingest;
+
+import com.example.entity.RateHistory;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.CurrentRate;
+import com.example.service.LeaderLeaseService;
+import com.example.service.RateService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pushes a sustained 20k ticks/s stream through the ring into the conflated flush of a
+ * leader node, well above the 10k ticks/s the streaming path is meant to absorb.
+ */
+class TickIngestionLoadTest {
+
+    private static final int TICKS_PER_SECOND = 20_000;
+    private static final int SECONDS = 3;
+    private static final long FLUSH_MILLIS = 100;
+    /** Above the prices other ingestion tests write, so their rows are never counted here */
+    private static final double FIRST_PRICE = 1_000_000;
+    /** Readers see a tick within this long of it being sent */
+    private static final long MAX_LIVE_LAG_MILLIS = 250;
+    /** The newest tick is persisted within this long after the stream stops */
+    private static final long MAX_PERSIST_LAG_MILLIS = FLUSH_MILLIS + 1_000;
+
+    @Test
+    void sustainsTenThousandTicksPerSecondWithoutDropsAndWithBoundedLag() throws Exception {
+        try (ApplicationContext node = ApplicationContext.run(Map.of(
+                "app.cluster.node-id", "ingest-load",
+                "app.cluster.heartbeat-interval", "1h",
+                "app.cluster.snapshot-poll-interval", "1h",
+                "app.ingest.enabled", "true",
+                "app.ingest.source", "load-test",
+                "app.ingest.flush-interval", FLUSH_MILLIS + "ms",
+                "app.ingest.publish-interval", "1h"
+        ), "test")) {
+            assertTrue(node.getBean(LeaderLeaseService.class).tryAcquireLeadership());
+            TickIngestionService ingestion = node.getBean(TickIngestionService.class);
+            TickSource.TickSink sink = node.getBean(LoadTickSource.class).sink;
+            RateService rates = node.getBean(RateService.class);
+            RateHistoryRepository history = node.getBean(RateHistoryRepository.class);
+
+            int total = TICKS_PER_SECOND * SECONDS;
+            int perMilli = TICKS_PER_SECOND / 1000;
+            long base = System.currentTimeMillis();
+            long start = System.nanoTime();
+            long maxLiveLagTicks = 0;
+            for (int i = 0; i < total; i++) {
+                if (i % perMilli == 0) {
+                    long due = start + TimeUnit.MILLISECONDS.toNanos(i / perMilli);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                String pair = i % 2 == 0 ? "BTC/USD" : "BTC/EUR";
+                assertTrue(sink.accept(pair, FIRST_PRICE + i, base + i / perMilli), "tick " + i + " was dropped");
+                // Every 50 ms, how many ticks the live BTC/USD price trails the stream by
+                if (i % (TICKS_PER_SECOND / 20) == 0 && i > 0) {
+                    CurrentRate live = rates.getLatestPrice().orElse(null);
+                    long behind = live == null ? i : i - (long) (live.rate() - FIRST_PRICE);
+                    maxLiveLagTicks = Math.max(maxLiveLagTicks, behind);
+                }
+            }
+            long sendNanos = System.nanoTime() - start;
+            long sentPerSecond = total * TimeUnit.SECONDS.toNanos(1) / sendNanos;
+            assertTrue(sentPerSecond >= 10_000, "only sent " + sentPerSecond + " ticks/s");
+
+            double lastUsd = FIRST_PRICE + total - 2;
+            long stopped = System.nanoTime();
+            long deadline = stopped + TimeUnit.MILLISECONDS.toNanos(MAX_PERSIST_LAG_MILLIS);
+            while (rows(history, base).stream().noneMatch(row -> row.getBtcUsd() == lastUsd)) {
+                assertTrue(System.nanoTime() < deadline,
+                        "newest tick not persisted within " + MAX_PERSIST_LAG_MILLIS + " ms");
+                Thread.sleep(10);
+            }
+
+            assertEquals(total, ingestion.getReceived());
+            assertEquals(0, ingestion.getRejected());
+            long liveLagMillis = maxLiveLagTicks * 1000 / TICKS_PER_SECOND;
+            assertTrue(liveLagMillis <= MAX_LIVE_LAG_MILLIS, "live price trailed by " + liveLagMillis + " ms");
+            assertEquals(lastUsd, rates.getLatestPrice().orElseThrow().rate());
+            // Conflated: at most one write per flush interval, however many ticks arrived
+            long intervals = (System.nanoTime() - start) / TimeUnit.MILLISECONDS.toNanos(FLUSH_MILLIS) + 1;
+            List<RateHistory> rows = rows(history, base);
+            assertEquals(ingestion.getFlushes(), rows.size());
+            assertTrue(rows.size() <= intervals, rows.size() + " writes in " + intervals + " intervals");
+        }
+    }
+
+    private static List<RateHistory> rows(RateHistoryRepository history, long fromMillis) {
+        return history.findByTimestampGreaterThanOrderByTimestampAsc(Instant.ofEpochMilli(fromMillis - 1)).stream()
+                .filter(row -> row.getBtcUsd() >= FIRST_PRICE)
+                .toList();
+    }
+
+    /**
+     * Hands the ingestion sink to the test, which then calls it directly as a source thread would
+     */
+    @Singleton
+    @Requires(property = "app.ingest.source", value = "load-test")
+    static class LoadTickSource implements TickSource {
+
+        volatile TickSink sink;
+
+        @Override
+        public void start(TickSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
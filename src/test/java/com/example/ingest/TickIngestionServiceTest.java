@@ -0,0 +1,128 @@
+package com.example.ingest;
+
+import com.example.entity.RateHistory;
+import com.example.repository.ExchangeRateRepository;
+import com.example.repository.LeaderLeaseRepository;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.LeaderLeaseService;
+import com.example.service.RateService;
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes, each reading its own local tick feed, against the same H2 database.
+ */
+class TickIngestionServiceTest {
+
+    private static final long FLUSH_MILLIS = 200;
+    private static final int TICKS = 500;
+
+    @Test
+    void leaderPersistsOncePerIntervalAndEveryNodeSeesLiveTicks() throws Exception {
+        try (ServerSocket feedA = feed(); ServerSocket feedB = feed()) {
+            ApplicationContext nodeA = startNode("ingest-a", feedA);
+            try {
+                assertTrue(nodeA.getBean(LeaderLeaseService.class).tryAcquireLeadership());
+                ApplicationContext nodeB = startNode("ingest-b", feedB);
+                try (Socket a = feedA.accept(); Socket b = feedB.accept()) {
+                    TickIngestionService leader = nodeA.getBean(TickIngestionService.class);
+                    TickIngestionService follower = nodeB.getBean(TickIngestionService.class);
+                    LeaderLeaseRepository leases = nodeA.getBean(LeaderLeaseRepository.class);
+                    RateHistoryRepository history = nodeA.getBean(RateHistoryRepository.class);
+                    long versionBefore = leases.findSnapshotVersionByName("rate-refresh");
+
+                    long base = System.currentTimeMillis();
+                    long sent = System.nanoTime();
+                    send(a, base, 100_000);
+                    // The follower's feed has its own prices, so any write of them would show
+                    send(b, base, 50_000);
+
+                    double leaderLast = 100_000 + TICKS - 1;
+                    await(() -> nodeA.getBean(RateService.class).getLatestPrice()
+                            .map(rate -> rate.rate() == leaderLast).orElse(false));
+                    await(() -> nodeB.getBean(RateService.class).getLatestPrice()
+                            .map(rate -> rate.rate() == 50_000 + TICKS - 1).orElse(false));
+                    await(() -> rows(history, base).stream().anyMatch(row -> row.getBtcUsd() == leaderLast));
+
+                    // Idle intervals write nothing more
+                    Thread.sleep(3 * FLUSH_MILLIS);
+                    long elapsedIntervals = (System.nanoTime() - sent) / Duration.ofMillis(FLUSH_MILLIS).toNanos() + 1;
+                    List<RateHistory> rows = rows(history, base);
+                    assertEquals(leader.getFlushes(), rows.size());
+                    assertTrue(rows.size() <= elapsedIntervals, rows.size() + " writes in " + elapsedIntervals + " intervals");
+                    assertTrue(rows.stream().allMatch(row -> row.getBtcUsd() >= 100_000));
+                    assertEquals(0, follower.getFlushes());
+                    assertEquals(TICKS * 2L, leader.getReceived());
+                    assertEquals(leaderLast, nodeA.getBean(ExchangeRateRepository.class)
+                            .findByFromCurrencyAndToCurrency("BTC", "USD").orElseThrow().getRate());
+
+                    // A second burst is persisted too, but the publish interval has not passed
+                    send(a, base + TICKS, 200_000);
+                    await(() -> rows(history, base).stream().anyMatch(row -> row.getBtcUsd() == 200_000 + TICKS - 1));
+                    // Only the first flush published
+                    assertEquals(versionBefore + 1, leases.findSnapshotVersionByName("rate-refresh").longValue());
+                } finally {
+                    nodeB.close();
+                }
+            } finally {
+                nodeA.close();
+            }
+        }
+    }
+
+    private static void send(Socket feed, long firstTimestamp, double firstPrice) throws IOException {
+        StringBuilder ticks = new StringBuilder();
+        for (int i = 0; i < TICKS; i++) {
+            ticks.append("BTC/USD ").append(firstPrice + i).append(' ').append(firstTimestamp + i).append('\n');
+            ticks.append("BTC/EUR ").append(firstPrice - 10_000 + i).append(' ').append(firstTimestamp + i).append('\n');
+        }
+        OutputStream out = feed.getOutputStream();
+        out.write(ticks.toString().getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static List<RateHistory> rows(RateHistoryRepository history, long fromMillis) {
+        return history.findByTimestampGreaterThanOrderByTimestampAsc(Instant.ofEpochMilli(fromMillis - 1));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+
+    private static ServerSocket feed() throws IOException {
+        ServerSocket feed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        feed.setSoTimeout(5_000);
+        return feed;
+    }
+
+    private static ApplicationContext startNode(String nodeId, ServerSocket feed) {
+        return ApplicationContext.run(Map.of(
+                "app.cluster.node-id", nodeId,
+                "app.cluster.heartbeat-interval", "1h",
+                "app.cluster.snapshot-poll-interval", "1h",
+                "app.ingest.enabled", "true",
+                "app.ingest.socket.host", "127.0.0.1",
+                "app.ingest.socket.port", feed.getLocalPort(),
+                "app.ingest.flush-interval", FLUSH_MILLIS + "ms",
+                "app.ingest.publish-interval", "1h"
+        ), "test");
+    }
+}
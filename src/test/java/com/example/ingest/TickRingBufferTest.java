@@ -0,0 +1,77 @@
+package com.example.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickRingBufferTest {
+
+    @Test
+    void rejectsWhenFullAndReusesDrainedSlots() {
+        TickRingBuffer ring = new TickRingBuffer(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(0, 100 + i, i));
+        }
+        assertFalse(ring.offer(0, 200, 9));
+        assertEquals(1L, ring.rejected());
+
+        List<Long> seen = new ArrayList<>();
+        assertEquals(2, ring.drain((pair, price, timestamp) -> seen.add(timestamp), 2));
+        assertTrue(ring.offer(1, 300, 4));
+        assertTrue(ring.offer(1, 301, 5));
+        assertEquals(4, ring.drain((pair, price, timestamp) -> seen.add(timestamp), 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), seen);
+        assertEquals(0L, ring.size());
+    }
+
+    @Test
+    void conflatesConcurrentProducersToLatestPerPair() throws InterruptedException {
+        int producers = 4;
+        int ticksPerProducer = 250_000;
+        TickRingBuffer ring = new TickRingBuffer(1 << 16);
+        ConflatedRates rates = new ConflatedRates(2);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int pair = p % 2;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 1; i <= ticksPerProducer; i++) {
+                    while (!ring.offer(pair, i, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        long drained = 0;
+        while (drained < (long) producers * ticksPerProducer) {
+            drained += ring.drain(rates, 4096);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * ticksPerProducer, drained);
+        assertEquals((double) ticksPerProducer, rates.price(0));
+        assertEquals((double) ticksPerProducer, rates.price(1));
+        assertEquals((long) producers * ticksPerProducer - 2, rates.conflated());
+        assertTrue(rates.takeDirty());
+        assertFalse(rates.takeDirty());
+    }
+
+    @Test
+    void ignoresOutOfOrderTicks() {
+        ConflatedRates rates = new ConflatedRates(2);
+        rates.onTick(0, 100, 2000);
+        assertFalse(rates.isComplete());
+        rates.onTick(0, 90, 1000);
+        rates.onTick(1, 80, 1500);
+
+        assertTrue(rates.isComplete());
+        assertEquals(100.0, rates.price(0));
+        assertEquals(2000L, rates.latestTimestamp());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshStageEventTest {
+
+    @Test
+    void commitsStageFieldsWhileRecording() throws Exception {
+        Path file = Files.createTempFile("refresh-stage", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.RefreshStage");
+            recording.start();
+            RefreshStageEvent.start("history").finish("success", 3);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.example.RefreshStage"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("history", events.get(0).getString("stage"));
+            assertEquals("success", events.get(0).getString("outcome"));
+            assertEquals(3, events.get(0).getInt("rowCount"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.jfr;
+
+import com.example.repository.PairRateRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class RepositoryEventInterceptorTest {
+
+    @Inject
+    PairRateRepository pairRates;
+
+    @Test
+    void recordsRepositoryMethodAndPairWhileRecording() throws Exception {
+        Path file = Files.createTempFile("repository-call", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.RepositoryCall");
+            recording.start();
+            pairRates.findMaxTimestampByPairId((short) 7);
+            pairRates.countTimestamps();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.example.RepositoryCall"))
+                    .toList();
+            RecordedEvent scoped = find(events, "findMaxTimestampByPairId");
+            assertEquals("success", scoped.getString("outcome"));
+            assertEquals(7, scoped.getShort("pair"));
+            assertEquals(-1, find(events, "countTimestamps").getShort("pair"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String method) {
+        return events.stream()
+                .filter(event -> method.equals(event.getString("method")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No event for " + method));
+    }
+}
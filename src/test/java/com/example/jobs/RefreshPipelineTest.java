@@ -0,0 +1,60 @@
+package com.example.jobs;
+
+import com.example.provider.PriceAggregator;
+import com.example.repository.ExchangeRateRepository;
+import com.example.repository.PairRateRepository;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.RateService;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class RefreshPipelineTest {
+
+    @Inject
+    RefreshPipeline pipeline;
+
+    @Inject
+    RateService rateService;
+
+    @Inject
+    RateHistoryRepository rateHistory;
+
+    @Inject
+    PairRateRepository pairRates;
+
+    @Inject
+    ExchangeRateRepository exchangeRates;
+
+    /**
+     * No providers, so every fetch ends without a quorum
+     */
+    @MockBean(PriceAggregator.class)
+    PriceAggregator noQuorum() {
+        return new PriceAggregator(List.of(), 1, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void writesNothingWithoutQuorum() {
+        // Earlier rates exist, so a pipeline that kept going would re-record them
+        rateService.upsertRate("BTC", "USD", 100000.0);
+        rateService.upsertRate("BTC", "EUR", 90000.0);
+        long historyRows = rateHistory.count();
+        long points = pairRates.count();
+        long currentRates = exchangeRates.count();
+
+        assertFalse(pipeline.run(rateService::fetchAndStorePrices, Instant.now(), (stage, nanos) -> { }));
+
+        assertEquals(historyRows, rateHistory.count());
+        assertEquals(points, pairRates.count());
+        assertEquals(currentRates, exchangeRates.count());
+    }
+}
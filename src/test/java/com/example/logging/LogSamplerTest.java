@@ -0,0 +1,33 @@
+package com.example.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    @Test
+    void letsPermitsThroughAndCountsTheRest() {
+        LogSampler sampler = new LogSampler(2, Duration.ofHours(1));
+
+        assertTrue(sampler.tryAcquire());
+        assertTrue(sampler.tryAcquire());
+        assertFalse(sampler.tryAcquire());
+        assertFalse(sampler.tryAcquire());
+
+        assertEquals(2, sampler.drainSuppressed());
+        assertEquals(0, sampler.drainSuppressed());
+    }
+
+    @Test
+    void startsANewWindowAfterTheInterval() throws InterruptedException {
+        LogSampler sampler = new LogSampler(1, Duration.ofMillis(20));
+
+        assertTrue(sampler.tryAcquire());
+        assertFalse(sampler.tryAcquire());
+        Thread.sleep(30);
+        assertTrue(sampler.tryAcquire());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointTest {
+
+    @Test
+    void convertsSatoshisToCents() {
+        long rate = FixedPoint.fromDouble(87265.0, FixedPoint.RATE_DIGITS);
+
+        assertEquals(872_650L, FixedPoint.convert(10_000_000L, MoneyUnit.BTC, rate, MoneyUnit.USD, RoundingMode.HALF_UP));
+        assertEquals(1L, FixedPoint.convert(12L, MoneyUnit.BTC, rate, MoneyUnit.USD, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void honoursRoundingModeOnExactHalf() {
+        long rate = FixedPoint.fromDouble(50_000.0, FixedPoint.RATE_DIGITS);
+        long sats = 10L; // 0.0000001 BTC * 50000 = 0.005 USD = 0.5 cents
+
+        assertEquals(1L, FixedPoint.convert(sats, MoneyUnit.BTC, rate, MoneyUnit.USD, RoundingMode.HALF_UP));
+        assertEquals(0L, FixedPoint.convert(sats, MoneyUnit.BTC, rate, MoneyUnit.USD, RoundingMode.HALF_EVEN));
+        assertEquals(0L, FixedPoint.convert(sats, MoneyUnit.BTC, rate, MoneyUnit.USD, RoundingMode.DOWN));
+    }
+
+    @Test
+    void mulDivMatchesBigDecimalBeyondLongRange() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long a = random.nextLong() >>> 1 >>> random.nextInt(30);
+            long b = random.nextLong() >>> 1 >>> random.nextInt(30);
+            long divisor = FixedPoint.pow10(8 + random.nextInt(11));
+            BigInteger exact = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_EVEN)
+                    .toBigIntegerExact();
+            if (exact.bitLength() >= 63) {
+                assertThrows(ArithmeticException.class, () -> FixedPoint.mulDiv(a, b, divisor, RoundingMode.HALF_EVEN));
+            } else {
+                assertEquals(exact.longValueExact(), FixedPoint.mulDiv(a, b, divisor, RoundingMode.HALF_EVEN));
+            }
+        }
+    }
+
+    @Test
+    void parsesDecimalStringsExactly() {
+        assertEquals(10_000_000L, FixedPoint.parse("0.1", 8, RoundingMode.HALF_UP));
+        assertEquals(100_000_000L, FixedPoint.parse("1", 8, RoundingMode.HALF_UP));
+        assertEquals(2L, FixedPoint.parse("0.000000015", 8, RoundingMode.HALF_UP));
+        assertEquals(2L, FixedPoint.parse("0.000000025", 8, RoundingMode.HALF_EVEN));
+        assertEquals(-150_000_000L, FixedPoint.parse("-1.5", 8, RoundingMode.HALF_UP));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1e5", 8, RoundingMode.HALF_UP));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("abc", 8, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void toDoublePrintsExactDecimal() {
+        assertEquals("8726.5", Double.toString(FixedPoint.toDouble(872_650L, 2)));
+        assertEquals("1.0E-8", Double.toString(FixedPoint.toDouble(1L, 8)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceAggregatorTest {
+
+    @Test
+    void returnsMedianOfFastestQuorumWithoutWaitingForSlowProvider() {
+        PriceAggregator aggregator = new PriceAggregator(List.of(
+                StubPriceProvider.answering("fast-1", 100_000, 90_000, Duration.ZERO),
+                StubPriceProvider.answering("fast-2", 100_200, 90_100, Duration.ofMillis(20)),
+                StubPriceProvider.answering("fast-3", 150_000, 95_000, Duration.ofMillis(40)),
+                StubPriceProvider.answering("slow", 1, 1, Duration.ofSeconds(10))
+        ), 3, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        Optional<PriceQuote> quote = aggregator.fetch();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(quote.isPresent());
+        assertEquals(100_200, quote.get().btcUsd());
+        assertEquals(90_100, quote.get().btcEur());
+        assertTrue(elapsedMillis < 5_000, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void skipsFailingProviders() {
+        PriceAggregator aggregator = new PriceAggregator(List.of(
+                StubPriceProvider.failing("broken"),
+                StubPriceProvider.answering("a", 100_000, 90_000, Duration.ofMillis(10)),
+                StubPriceProvider.answering("b", 101_000, 91_000, Duration.ofMillis(10))
+        ), 2, Duration.ofSeconds(5));
+
+        Optional<PriceQuote> quote = aggregator.fetch();
+
+        assertTrue(quote.isPresent());
+        assertEquals(100_500, quote.get().btcUsd());
+        assertEquals(90_500, quote.get().btcEur());
+    }
+
+    @Test
+    void givesUpAtDeadlineWithoutQuorum() {
+        PriceAggregator aggregator = new PriceAggregator(List.of(
+                StubPriceProvider.answering("a", 100_000, 90_000, Duration.ZERO),
+                StubPriceProvider.answering("slow", 100_000, 90_000, Duration.ofSeconds(10))
+        ), 2, Duration.ofMillis(200));
+
+        assertTrue(aggregator.fetch().isEmpty());
+    }
+
+    @Test
+    void rejectsQuorumLargerThanProviderCount() {
+        assertThrows(IllegalStateException.class, () -> new PriceAggregator(List.of(
+                StubPriceProvider.answering("only", 100_000, 90_000, Duration.ZERO)
+        ), 2, Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Local provider for tests: answers with fixed prices after a delay, or fails.
+ */
+class StubPriceProvider implements PriceProvider {
+
+    private final String name;
+    private final double btcUsd;
+    private final double btcEur;
+    private final Duration delay;
+    private final boolean failing;
+
+    StubPriceProvider(String name, double btcUsd, double btcEur, Duration delay, boolean failing) {
+        this.name = name;
+        this.btcUsd = btcUsd;
+        this.btcEur = btcEur;
+        this.delay = delay;
+        this.failing = failing;
+    }
+
+    static StubPriceProvider answering(String name, double btcUsd, double btcEur, Duration delay) {
+        return new StubPriceProvider(name, btcUsd, btcEur, delay, false);
+    }
+
+    static StubPriceProvider failing(String name) {
+        return new StubPriceProvider(name, 0, 0, Duration.ZERO, true);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public PriceQuote fetch() throws Exception {
+        Thread.sleep(delay.toMillis());
+        if (failing) {
+            throw new IllegalStateException("upstream unavailable");
+        }
+        return new PriceQuote(name, btcUsd, btcEur, Instant.now());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.replay;
+
+import com.example.alert.AlertService;
+import com.example.entity.PairRate;
+import com.example.entity.PriceAlert;
+import com.example.repository.PairRateRepository;
+import com.example.service.PairDictionary;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(environments = "replay")
+@Property(name = "app.replay.speedup", value = "4")
+@Property(name = "app.replay.datasource-url", value = MarketReplayTest.REPLAY_DB)
+@Property(name = "datasources.default.url", value = MarketReplayTest.REPLAY_DB)
+class MarketReplayTest {
+
+    static final String REPLAY_DB = "jdbc:h2:mem:replaydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    private static final long FIRST = Instant.parse("2016-01-01T00:00:00Z").toEpochMilli();
+
+    @Inject
+    MarketReplay replay;
+
+    @Inject
+    PairRateRepository pairRates;
+
+    @Inject
+    PairDictionary pairs;
+
+    @Inject
+    AlertService alertService;
+
+    @Test
+    void replaysShiftedAndPacedTicksThroughThePipelineWithoutAlerts() throws IOException {
+        short usd = pairs.idOf("BTC", "USD");
+        // Crossed by the recorded move from 1000 to 3000
+        PriceAlert alert = alertService.create("BTC/USD", 2000, PriceAlert.Direction.ABOVE, null);
+        Path file = Files.createTempFile("ticks", ".csv");
+        try {
+            Files.writeString(file, "timestamp,btc_usd,btc_eur\n"
+                    + FIRST + ",1000,900\n"
+                    + (FIRST + 400) + ",3000,2900\n"
+                    + (FIRST + 800) + ",3100,3000\n");
+            Instant newest = pairRates.findMaxTimestamp();
+
+            long start = System.nanoTime();
+            ReplayStats stats = replay.replay(file.toString());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // 800 ms of recorded time at 4x
+            assertTrue(elapsedMillis >= 200, "replay took " + elapsedMillis + " ms");
+            assertEquals(3, stats.ticks());
+            assertEquals(0, stats.failures());
+            assertTrue(stats.summary().containsKey("history"));
+            assertTrue(stats.summary().containsKey("publish"));
+            assertFalse(stats.summary().containsKey("alerts"));
+
+            // Shifted to start just after the newest stored point, keeping the recorded spacing
+            Instant shiftedStart = Instant.ofEpochMilli(newest == null ? FIRST : Math.max(FIRST, newest.toEpochMilli() + 1));
+            List<PairRate> usdPoints = pairRates.findBetween(shiftedStart.minusNanos(1), shiftedStart.plusMillis(800)).stream()
+                    .filter(point -> point.getId().getPairId() == usd)
+                    .toList();
+            assertEquals(3, usdPoints.size());
+            assertEquals(shiftedStart, usdPoints.get(0).getId().getTimestamp());
+            assertEquals(shiftedStart.plusMillis(400), usdPoints.get(1).getId().getTimestamp());
+            assertEquals(3000.0, usdPoints.get(1).getRate());
+
+            assertTrue(alertService.find(alert.getId()).orElseThrow().isActive());
+        } finally {
+            Files.delete(file);
+            alertService.delete(alert.getId());
+        }
+    }
+
+    @Test
+    void refusesToWriteToADatasourceNotNamedForTheReplay() {
+        MarketReplay misconfigured = new MarketReplay(null, null, null, null, null, 4,
+                REPLAY_DB, "jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        assertThrows(IllegalStateException.class, () -> misconfigured.replay(MarketReplay.TABLE_SOURCE));
+
+        MarketReplay unnamed = new MarketReplay(null, null, null, null, null, 4, "", REPLAY_DB);
+        assertThrows(IllegalStateException.class, () -> unnamed.replay(MarketReplay.TABLE_SOURCE));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayStatsTest {
+
+    @Test
+    void percentilesUseNearestRank() {
+        ReplayStats stats = new ReplayStats();
+        for (int i = 100; i >= 1; i--) {
+            stats.recordStage("history", i * 1_000_000L);
+        }
+
+        assertEquals(50_000_000L, stats.percentile("history", 50));
+        assertEquals(99_000_000L, stats.percentile("history", 99));
+        assertEquals(100_000_000L, stats.percentile("history", 100));
+        assertEquals(1_000_000L, stats.percentile("history", 0));
+        assertEquals(0L, stats.percentile("publish", 50));
+    }
+
+    @Test
+    void countsTicksAndScheduleLag() {
+        ReplayStats stats = new ReplayStats();
+        stats.recordTick(true, 2_000_000L);
+        stats.recordTick(false, 4_000_000L);
+
+        assertEquals(2L, stats.ticks());
+        assertEquals(1L, stats.failures());
+        Map<String, Object> lag = stats.summary().get(ReplayStats.SCHEDULE_LAG);
+        assertEquals(2, lag.get("count"));
+        assertEquals(3.0, lag.get("mean_ms"));
+        assertEquals(4.0, lag.get("max_ms"));
+    }
+}
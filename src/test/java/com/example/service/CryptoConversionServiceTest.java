@@ -22,6 +22,14 @@ class CryptoConversionServiceTest {
         assertTrue(response.getError().contains("not fully implemented"));
     }
 
+    @Test
+    void convertToCurrencyWithoutKnownScaleReturnsFailure() {
+        ConversionResponse response = conversionService.convert(1.0, "BTC", "JPY");
+
+        assertFalse(response.isSuccess());
+        assertEquals("Unsupported currency: JPY", response.getError());
+    }
+
     @Test
     void convertWithValidBtcToEur() {
         // This test makes real API calls which may fail due to network issues
@@ -0,0 +1,52 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryResponseCacheTest {
+
+    @Test
+    void servesRepeatedQueriesFromCacheUntilInvalidated() {
+        HistoryResponseCache cache = new HistoryResponseCache(4);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("body-1", cache.get(24, () -> "body-" + loads.incrementAndGet()));
+        assertEquals("body-1", cache.get(24, () -> "body-" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        cache.onSnapshotChanged(new RateSnapshotChangedEvent(1));
+
+        assertEquals("body-2", cache.get(24, () -> "body-" + loads.incrementAndGet()));
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+        assertEquals(1L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        HistoryResponseCache cache = new HistoryResponseCache(2);
+
+        cache.get(1, () -> "1h");
+        cache.get(24, () -> "24h");
+        cache.get(1, () -> "unused");
+        cache.get(168, () -> "168h");
+
+        assertEquals(2, cache.stats().get("size"));
+        assertEquals(1L, cache.stats().get("evictions"));
+        assertEquals("1h", cache.get(1, () -> "reloaded"));
+        assertEquals("24h-reloaded", cache.get(24, () -> "24h-reloaded"));
+    }
+
+    @Test
+    void doesNotStoreUncacheableResponses() {
+        HistoryResponseCache cache = new HistoryResponseCache(4);
+
+        assertEquals("empty", cache.load(24, () -> new HistoryResponseCache.Loaded("empty", false)));
+        assertEquals("data", cache.load(24, () -> new HistoryResponseCache.Loaded("data", true)));
+        assertEquals("data", cache.get(24, () -> "reloaded"));
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+}
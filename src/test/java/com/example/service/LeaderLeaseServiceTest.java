@@ -0,0 +1,93 @@
+package com.example.service;
+
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two application contexts against the same H2 database to simulate two pods.
+ */
+class LeaderLeaseServiceTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    /**
+     * Each test runs a day after the previous one on the lease clock, so leases left
+     * behind by earlier tests or other contexts sharing the database are always expired
+     */
+    private static Instant clock = Instant.now();
+
+    ApplicationContext nodeA;
+    ApplicationContext nodeB;
+    Instant now;
+
+    @BeforeEach
+    void startNodes() {
+        clock = clock.plus(Duration.ofDays(1));
+        now = clock;
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLease() {
+        LeaderLeaseService a = nodeA.getBean(LeaderLeaseService.class);
+        LeaderLeaseService b = nodeB.getBean(LeaderLeaseService.class);
+
+        assertTrue(a.tryAcquireLeadership(now));
+        assertFalse(b.tryAcquireLeadership(now.plusSeconds(1)));
+        assertTrue(a.tryAcquireLeadership(now.plusSeconds(2)));
+        assertFalse(b.tryAcquireLeadership(now.plus(LEASE)));
+    }
+
+    @Test
+    void followerTakesOverExpiredLease() {
+        LeaderLeaseService a = nodeA.getBean(LeaderLeaseService.class);
+        LeaderLeaseService b = nodeB.getBean(LeaderLeaseService.class);
+
+        assertTrue(a.tryAcquireLeadership(now));
+
+        // node-a stops heartbeating
+        Instant expired = now.plus(LEASE).plusMillis(1);
+        assertTrue(b.tryAcquireLeadership(expired));
+        assertFalse(a.tryAcquireLeadership(expired.plusMillis(1)));
+    }
+
+    @Test
+    void followerSeesPublishedSnapshotVersion() {
+        LeaderLeaseService a = nodeA.getBean(LeaderLeaseService.class);
+        LeaderLeaseService b = nodeB.getBean(LeaderLeaseService.class);
+
+        assertTrue(a.tryAcquireLeadership(now));
+        b.pollSnapshotVersion();
+        long before = b.getLastSeenVersion();
+
+        a.publishSnapshot();
+        b.pollSnapshotVersion();
+
+        assertEquals(before + 1, b.getLastSeenVersion());
+        assertEquals(a.getLastSeenVersion(), b.getLastSeenVersion());
+    }
+
+    private static ApplicationContext startNode(String nodeId) {
+        return ApplicationContext.run(Map.of(
+                "app.cluster.node-id", nodeId,
+                "app.cluster.lease-duration", "30s",
+                "app.cluster.heartbeat-interval", "1h",
+                "app.cluster.snapshot-poll-interval", "1h"
+        ), "test");
+    }
+}
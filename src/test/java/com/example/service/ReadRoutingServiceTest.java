@@ -0,0 +1,118 @@
+package com.example.service;
+
+import com.example.repository.PairRateRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Property(name = "app.datasource.replica.check-interval", value = "1h")
+class ReadRoutingServiceTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    @Inject
+    ReadRoutingService readRouting;
+
+    @Inject
+    ReplicaLagMonitor lagMonitor;
+
+    @Inject
+    TimeSeriesService timeSeries;
+
+    @Inject
+    PairRateRepository primaryRates;
+
+    @Inject
+    PairDictionary pairs;
+
+    @Test
+    void readsGoToReplicaWhileWithinLagThreshold() throws SQLException {
+        Instant newest = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant older = newest.minusSeconds(60);
+        timeSeries.record(older, Map.of("BTC/USD", 99000.0));
+        timeSeries.record(newest, Map.of("BTC/USD", 100000.0));
+        // Only the newest point has reached the replica: caught up, but with less history
+        seedReplica(newest, pairs.idOf("BTC", "USD"), 100000.0);
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals(1, readRouting.countHistory());
+        assertTrue(primaryRates.countTimestamps() > 1);
+    }
+
+    @Test
+    void emptyReplicaIsNotUsable() throws SQLException {
+        timeSeries.record(Instant.now(), Map.of("BTC/USD", 100000.0, "BTC/EUR", 90000.0));
+        seedReplica(null, (short) 0, 0);
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(primaryRates.countTimestamps(), readRouting.countHistory());
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsUnavailable() {
+        timeSeries.record(Instant.now(), Map.of("BTC/USD", 100000.0, "BTC/EUR", 90000.0));
+        lagMonitor.markReplicaFailed();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(primaryRates.countTimestamps(), readRouting.countHistory());
+        assertTrue(readRouting.countHistory() > 0);
+    }
+
+    @Test
+    void pagesHistoryByTimestampKeyset() {
+        // Far in the past so points recorded by other tests come after these
+        Instant base = Instant.parse("2001-01-01T00:00:00Z");
+        for (int i = 0; i < 3; i++) {
+            timeSeries.record(base.plusSeconds(i), Map.of("BTC/USD", 100000.0 + i, "BTC/EUR", 90000.0 + i));
+        }
+        lagMonitor.markReplicaFailed();
+
+        HistoryPage first = readRouting.findRatePage(base.minusSeconds(1), 2);
+        assertTrue(first.hasMore());
+        assertEquals(4, first.rows().size());
+        assertEquals(base, first.rows().get(0).getId().getTimestamp());
+        assertEquals(base.plusSeconds(1), first.rows().get(3).getId().getTimestamp());
+
+        HistoryPage second = readRouting.findRatePage(base.plusSeconds(1), 1);
+        assertEquals(2, second.rows().size());
+        assertEquals(base.plusSeconds(2), second.rows().get(0).getId().getTimestamp());
+    }
+
+    /**
+     * Replace the replica's pair_rate contents with at most one point; the replica
+     * datasource is read-only for the application, so write to its H2 database directly
+     */
+    private static void seedReplica(Instant timestamp, short pairId, double rate) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM pair_rate");
+            }
+            if (timestamp != null) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO pair_rate (pair_id, ts, rate) VALUES (?, ?, ?)")) {
+                    insert.setShort(1, pairId);
+                    insert.setObject(2, OffsetDateTime.ofInstant(timestamp, ZoneOffset.UTC));
+                    insert.setDouble(3, rate);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.service;
+
+import com.example.entity.CurrencyPair;
+import com.example.repository.CurrencyPairRepository;
+import com.example.repository.PairRateRepository;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+class TimeSeriesServiceTest {
+
+    @Inject
+    TimeSeriesService timeSeries;
+
+    @Inject
+    PairRateRepository primaryRates;
+
+    @Inject
+    PairDictionary pairs;
+
+    @Inject
+    CurrencyPairRepository currencyPairs;
+
+    @Test
+    void groupsPointsIntoOneHistoryEntryPerTimestamp() {
+        Instant first = Instant.parse("2020-01-01T00:00:00Z");
+        Instant second = first.plus(5, ChronoUnit.MINUTES);
+        timeSeries.record(first, Map.of("BTC/USD", 7000.0, "BTC/EUR", 6200.0));
+        // A pair tracked later only appears from its first point on
+        timeSeries.record(second, Map.of("BTC/USD", 7100.0, "BTC/EUR", 6300.0, "BTC/GBP", 5400.0));
+
+        List<Map<String, Object>> entries = timeSeries.toHistoryEntries(
+                primaryRates.findAfter(first.minusMillis(1)).stream()
+                        .filter(row -> !row.getId().getTimestamp().isAfter(second))
+                        .toList());
+
+        assertEquals(2, entries.size());
+        assertEquals(first.toEpochMilli(), entries.get(0).get("id"));
+        assertEquals(7000.0, entries.get(0).get("btc_usd"));
+        assertEquals(6200.0, entries.get(0).get("btc_eur"));
+        assertFalse(entries.get(0).containsKey("btc_gbp"));
+        assertEquals(5400.0, entries.get(1).get("btc_gbp"));
+        assertEquals(second.toString(), entries.get(1).get("timestamp"));
+    }
+
+    @Test
+    void internsPairsToStableIds() {
+        short id = pairs.idOf("btc", "usd");
+
+        assertEquals(id, pairs.idOf("BTC", "USD"));
+        assertNotEquals(id, pairs.idOf("BTC", "EUR"));
+        assertEquals("USD", pairs.get(id).getQuote());
+    }
+
+    @Test
+    void findsPairsCreatedOnAnotherNode() {
+        pairs.ids();
+        // Inserted behind the dictionary's back, as the leader on another node would
+        CurrencyPair listed = currencyPairs.save(new CurrencyPair("XRP", "USD"));
+        pairs.onSnapshotChanged(new RateSnapshotChangedEvent(1));
+        assertTrue(pairs.ids().contains(listed.getId()));
+
+        CurrencyPair lookedUp = currencyPairs.save(new CurrencyPair("XRP", "EUR"));
+        assertEquals("EUR", pairs.get(lookedUp.getId()).getQuote());
+    }
+
+    @Test
+    void recordingTheSameTimestampTwiceOverwritesThePoint() {
+        Instant at = Instant.parse("2019-06-01T00:00:00Z");
+        timeSeries.record(at, Map.of("BTC/USD", 8000.0));
+        timeSeries.record(at, Map.of("BTC/USD", 8100.0, "BTC/EUR", 7200.0));
+
+        var rows = primaryRates.findBetween(at.minusMillis(1), at);
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> row.getRate() == 8100.0));
+    }
+
+    @Test
+    void latestPointsComeFromEachPairsNewestTimestamp() {
+        // Pairs only this test writes, so other tests cannot add newer points
+        Instant older = Instant.parse("2018-01-01T00:00:00Z");
+        Instant newer = older.plus(1, ChronoUnit.MINUTES);
+        timeSeries.record(older, Map.of("LTC/USD", 90.0, "LTC/EUR", 80.0));
+        timeSeries.record(newer, Map.of("LTC/USD", 91.0));
+
+        Map<String, CurrentRate> rates = timeSeries.findCurrentRates();
+
+        assertEquals(91.0, rates.get("LTC/USD").rate());
+        assertEquals(newer, rates.get("LTC/USD").updatedAt());
+        assertEquals(80.0, rates.get("LTC/EUR").rate());
+        assertEquals(older, rates.get("LTC/EUR").updatedAt());
+    }
+}
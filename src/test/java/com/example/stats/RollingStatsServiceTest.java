@@ -0,0 +1,131 @@
+package com.example.stats;
+
+import com.example.entity.RateHistory;
+import com.example.repository.RateHistoryRepository;
+import com.example.service.RateSnapshotChangedEvent;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A writer node and a follower node with an HTTP server share a database of their own,
+ * so rows left behind by other tests do not end up in the windows.
+ */
+class RollingStatsServiceTest {
+
+    ApplicationContext writer;
+    EmbeddedServer follower;
+    HttpClient client;
+    Instant now;
+
+    @BeforeEach
+    void startWriter() {
+        now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        writer = ApplicationContext.run(properties("jdbc:h2:mem:stats-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL"), "test");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (client != null) {
+            client.close();
+        }
+        if (follower != null) {
+            follower.close();
+        }
+        writer.close();
+    }
+
+    @Test
+    void rebuildsFromHistoryCatchesUpOnSnapshotChangeAndServesStats() {
+        RateHistoryRepository history = writer.getBean(RateHistoryRepository.class);
+        // Outside the 1h window, so the startup rebuild does not read it
+        history.save(new RateHistory(50.0, 45.0, now.minus(Duration.ofHours(2))));
+        history.save(new RateHistory(100.0, 90.0, now.minus(Duration.ofMinutes(30))));
+        history.save(new RateHistory(110.0, 99.0, now.minus(Duration.ofMinutes(20))));
+
+        startFollower();
+        RollingStatsService stats = follower.getApplicationContext().getBean(RollingStatsService.class);
+        Map<String, Object> usd = pair(stats.snapshot(), "btc_usd");
+        assertEquals(2, window(usd).get("count"));
+        assertEquals(105.0, (Double) window(usd).get("sma"), 1e-9);
+        assertEquals(now.minus(Duration.ofMinutes(20)).toString(), stats.snapshot().get("last_update"));
+
+        // Written by the leader; the follower only sees it after the next snapshot change
+        history.save(new RateHistory(130.0, 117.0, now.minus(Duration.ofMinutes(10))));
+        assertEquals(2, window(pair(stats.snapshot(), "btc_usd")).get("count"));
+
+        follower.getApplicationContext().getEventPublisher(RateSnapshotChangedEvent.class)
+                .publishEvent(new RateSnapshotChangedEvent(1));
+        assertEquals(3, window(pair(stats.snapshot(), "btc_usd")).get("count"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = client.toBlocking().retrieve(HttpRequest.GET("/api/stats"), Map.class);
+        assertEquals(true, body.get("success"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> data = (Map<String, Object>) body.get("data");
+
+        usd = pair(data, "btc_usd");
+        assertEquals(130.0, number(usd.get("last")), 1e-9);
+        Map<String, Object> usdWindow = window(usd);
+        assertEquals(3, ((Number) usdWindow.get("count")).intValue());
+        assertEquals(340.0 / 3, number(usdWindow.get("sma")), 1e-9);
+        assertEquals(100.0, number(usdWindow.get("min")), 1e-9);
+        assertEquals(130.0, number(usdWindow.get("max")), 1e-9);
+        assertTrue(number(usdWindow.get("volatility")) > 0);
+        // Period 3 smooths with alpha 0.5: 100, 105, 117.5
+        assertEquals(117.5, number(ema(usd).get("3")), 1e-9);
+
+        Map<String, Object> eur = pair(data, "btc_eur");
+        assertEquals(306.0 / 3, number(window(eur).get("sma")), 1e-9);
+        assertEquals(105.75, number(ema(eur).get("3")), 1e-9);
+    }
+
+    private void startFollower() {
+        String url = writer.getProperty("datasources.default.url", String.class).orElseThrow();
+        follower = ApplicationContext.run(EmbeddedServer.class, properties(url), "test");
+        client = follower.getApplicationContext().createBean(HttpClient.class, follower.getURL());
+    }
+
+    private static Map<String, Object> properties(String url) {
+        return Map.of(
+                "datasources.default.url", url,
+                "app.datasource.replica.enabled", "false",
+                "app.stats.windows", "1h",
+                "app.stats.ema-periods", "3",
+                "app.cluster.heartbeat-interval", "1h",
+                "app.cluster.snapshot-poll-interval", "1h"
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> pair(Map<String, Object> data, String name) {
+        return (Map<String, Object>) data.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> window(Map<String, Object> pair) {
+        return ((Map<String, Map<String, Object>>) pair.get("windows")).get("1h");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> ema(Map<String, Object> pair) {
+        return (Map<String, Object>) pair.get("ema");
+    }
+
+    private static double number(Object value) {
+        return ((Number) value).doubleValue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowTest {
+
+    @Test
+    void tracksMeanMinMaxOverTimeWindow() {
+        RollingWindow window = new RollingWindow(10_000, 2);
+
+        window.add(0, 100);
+        window.add(5_000, 120);
+        window.add(9_000, 90);
+        assertEquals(3, window.size());
+        assertEquals(310.0 / 3, window.mean(), 1e-9);
+        assertEquals(90, window.min());
+        assertEquals(120, window.max());
+
+        // The sample at t=0 leaves the window
+        window.add(12_000, 110);
+        assertEquals(3, window.size());
+        assertEquals(320.0 / 3, window.mean(), 1e-9);
+        assertEquals(90, window.min());
+        assertEquals(120, window.max());
+
+        window.evictBefore(10_000);
+        assertEquals(2, window.size());
+        assertEquals(110, window.max());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomWalk() {
+        Random random = new Random(7);
+        long windowMillis = 60_000;
+        RollingWindow window = new RollingWindow(windowMillis, 4);
+        List<long[]> times = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        long time = 0;
+        double price = 80_000;
+
+        for (int i = 0; i < 2_000; i++) {
+            time += 1 + random.nextInt(random.nextInt(50) == 0 ? 90_000 : 3_000);
+            price *= Math.exp(random.nextGaussian() * 0.002);
+            window.add(time, price);
+            times.add(new long[]{time});
+            values.add(price);
+
+            List<Double> inWindow = new ArrayList<>();
+            for (int j = 0; j < times.size(); j++) {
+                if (times.get(j)[0] >= time - windowMillis) {
+                    inWindow.add(values.get(j));
+                }
+            }
+            assertEquals(inWindow.size(), window.size());
+            assertEquals(inWindow.stream().mapToDouble(Double::doubleValue).average().orElseThrow(), window.mean(), 1e-6);
+            assertEquals(inWindow.stream().mapToDouble(Double::doubleValue).min().orElseThrow(), window.min());
+            assertEquals(inWindow.stream().mapToDouble(Double::doubleValue).max().orElseThrow(), window.max());
+            if (inWindow.size() >= 3) {
+                assertEquals(logReturnStdDev(inWindow), window.volatility(), 1e-9);
+            }
+        }
+    }
+
+    private static double logReturnStdDev(List<Double> prices) {
+        double[] returns = new double[prices.size() - 1];
+        double mean = 0;
+        for (int i = 1; i < prices.size(); i++) {
+            returns[i - 1] = Math.log(prices.get(i) / prices.get(i - 1));
+            mean += returns[i - 1];
+        }
+        mean /= returns.length;
+        double squares = 0;
+        for (double r : returns) {
+            squares += (r - mean) * (r - mean);
+        }
+        return Math.sqrt(squares / (returns.length - 1));
+    }
+}